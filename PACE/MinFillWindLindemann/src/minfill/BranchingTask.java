@@ -0,0 +1,100 @@
+package minfill;
+
+import minfill.graphs.Graph;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Task of a parallel search that branches into subsearches and returns the result of the first branch, in branch
+ * order, that succeeds, so the result is the one the sequential search would return. Once branch i succeeds only the
+ * branches after it are stopped, those before it are still awaited.
+ * Stopping is cooperative: a task checks its own flag, its ancestors' and whether the thread that started the search
+ * was interrupted. A stopped task returns null, which must not be taken as a failure of its branch. Sequential parts
+ * of the search run inside a task check isStopped() and throw CancellationException, see unlessStopped.
+ */
+@SuppressWarnings("serial") // Serializable only through ForkJoinTask; tasks are never serialized.
+abstract class BranchingTask<T extends Comparable<T>> extends RecursiveTask<Optional<Graph<T>>> {
+    private final BranchingTask<T> parent;
+    private final Thread caller;
+    private volatile boolean stopped;
+
+    protected BranchingTask(BranchingTask<T> parent, Thread caller) {
+        this.parent = parent;
+        this.caller = caller;
+    }
+
+    protected Thread caller() {
+        return caller;
+    }
+
+    protected boolean isStopped() {
+        for (BranchingTask<T> task = this; task != null; task = task.parent) {
+            if (task.stopped) return true;
+        }
+        return caller.isInterrupted();
+    }
+
+    /**
+     * Runs this task, as the root of a search, on pool and waits for it. The wait is interruptible, as
+     * ForkJoinPool.invoke would hide an interrupt of the waiting thread from isStopped until the task is done. On an
+     * interrupt the task is stopped, and the interrupt kept.
+     * @return The result, or null if stopped.
+     */
+    Optional<Graph<T>> invokeOn(ForkJoinPool pool) {
+        pool.execute(this);
+        try {
+            return get();
+        } catch (InterruptedException e) {
+            stopped = true;
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs a sequential part of the search, which throws CancellationException once this task is stopped.
+     * @return The result of search, or null if this task was stopped.
+     */
+    protected Optional<Graph<T>> unlessStopped(Supplier<Optional<Graph<T>>> search) {
+        try {
+            return search.get();
+        } catch (CancellationException e) {
+            if (isStopped()) return null;
+            throw e;
+        }
+    }
+
+    /**
+     * Forks every branch and joins them in order.
+     * @return The result of the first branch that succeeds, empty if all fail, or null if this task was stopped.
+     */
+    protected Optional<Graph<T>> firstSuccess(List<? extends BranchingTask<T>> branches) {
+        for (int i = branches.size() - 1; i > 0; i--) {
+            branches.get(i).fork();
+        }
+
+        for (int i = 0; i < branches.size(); i++) {
+            BranchingTask<T> branch = branches.get(i);
+            Optional<Graph<T>> result = i == 0 ? branch.compute() : branch.join();
+
+            if (result == null || result.isPresent() || isStopped()) {
+                for (int j = i + 1; j < branches.size(); j++) {
+                    BranchingTask<T> later = branches.get(j);
+                    later.stopped = true;
+                }
+                return result == null || !result.isPresent() ? null : result;
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,235 @@
+package minfill;
+
+import minfill.graphs.Graph;
+import minfill.sets.Universe;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * Parser for the PACE edge list format: one edge "u v" per line, lines starting with # are comments.
+ * Works on the bytes directly, a file being memory mapped, and maps labels to dense ids through a hash table of
+ * byte ranges of the input, so a label becomes a String once, not once per occurrence. The adjacency is built in
+ * two passes over the input, the first numbering the labels and counting degrees, the second filling one int array
+ * sliced by vertex, so no object is made per edge. The ids are by sorted label, as in Universe.sorted.
+ * Self loops are ignored, and repeated edges kept once.
+ */
+public class GraphParser {
+    private final ByteBuffer input;
+    private final int limit;
+
+    // Labels: id i is the bytes starts[i], ..., starts[i]+lengths[i]-1 of input, and table holds id+1 at a slot
+    // probed from hashes[i], 0 marking a free slot.
+    private int[] table = new int[1 << 10];
+    private int[] hashes = new int[1 << 9], starts = new int[1 << 9], lengths = new int[1 << 9];
+    private int size;
+    private int[] degree = new int[1 << 9]; // Counted in the first pass, so with repeated edges.
+
+    private GraphParser(ByteBuffer input) {
+        this.input = input;
+        limit = input.limit();
+    }
+
+    /**
+     * @return The rest of input, memory mapped if it is a file, otherwise read into one buffer.
+     */
+    public static ByteBuffer read(InputStream input) throws IOException {
+        if (input instanceof FileInputStream) {
+            FileChannel channel = ((FileInputStream) input).getChannel();
+            long remaining = channel.size() - channel.position();
+            if (remaining > 0 && remaining <= Integer.MAX_VALUE) { // Pipes report size 0.
+                return channel.map(FileChannel.MapMode.READ_ONLY, channel.position(), remaining);
+            }
+        }
+
+        byte[] bytes = new byte[1 << 16];
+        int size = 0;
+        for (int read; (read = input.read(bytes, size, bytes.length - size)) >= 0; ) {
+            size += read;
+            if (size == bytes.length) bytes = Arrays.copyOf(bytes, 2 * size);
+        }
+        return ByteBuffer.wrap(bytes, 0, size);
+    }
+
+    /**
+     * @param input As from read.
+     * @param representation Constructor of the graph implementation to build from the vertices and the neighbors of
+     *                       each as ids, e.g. BitSetGraph::new.
+     */
+    public static Graph<String> parse(ByteBuffer input, BiFunction<Universe<String>, int[][], Graph<String>> representation) {
+        return new GraphParser(input).parse(representation);
+    }
+
+    private Graph<String> parse(BiFunction<Universe<String>, int[][], Graph<String>> representation) {
+        forEachEdge((from, fromLength, to, toLength) -> {
+            int u = insert(from, fromLength), v = insert(to, toLength);
+            if (u == v) return;
+            degree[u]++;
+            degree[v]++;
+        });
+
+        String[] labels = new String[size];
+        byte[] bytes = new byte[0];
+        for (int id = 0; id < size; id++) {
+            if (bytes.length < lengths[id]) bytes = new byte[2 * lengths[id]];
+            for (int i = 0; i < lengths[id]; i++) {
+                bytes[i] = input.get(starts[id] + i);
+            }
+            labels[id] = new String(bytes, 0, lengths[id], StandardCharsets.UTF_8);
+        }
+
+        Integer[] sorted = new Integer[size];
+        for (int id = 0; id < size; id++) {
+            sorted[id] = id;
+        }
+        Arrays.sort(sorted, (a, b) -> labels[a].compareTo(labels[b]));
+        int[] rank = new int[size];
+        String[] vertices = new String[size];
+        for (int i = 0; i < size; i++) {
+            rank[sorted[i]] = i;
+            vertices[i] = labels[sorted[i]];
+        }
+
+        // The neighbors of rank r are targets[offsets[r]], ..., targets[offsets[r+1]-1], filled from fill[r].
+        int[] offsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            offsets[rank[id] + 1] = degree[id];
+        }
+        for (int r = 0; r < size; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+        int[] fill = Arrays.copyOf(offsets, size);
+        int[] targets = new int[offsets[size]];
+        forEachEdge((from, fromLength, to, toLength) -> {
+            int u = rank[find(from, fromLength)], v = rank[find(to, toLength)];
+            if (u == v) return;
+            targets[fill[u]++] = v;
+            targets[fill[v]++] = u;
+        });
+
+        int[][] adjacency = new int[size][];
+        for (int r = 0; r < size; r++) {
+            Arrays.sort(targets, offsets[r], offsets[r + 1]);
+            int distinct = 0;
+            for (int i = offsets[r]; i < offsets[r + 1]; i++) {
+                if (distinct == 0 || targets[i] != targets[offsets[r] + distinct - 1]) {
+                    targets[offsets[r] + distinct++] = targets[i];
+                }
+            }
+            adjacency[r] = Arrays.copyOfRange(targets, offsets[r], offsets[r] + distinct);
+        }
+
+        return representation.apply(new Universe<>(Arrays.asList(vertices)), adjacency);
+    }
+
+    private interface EdgeConsumer {
+        void accept(int from, int fromLength, int to, int toLength);
+    }
+
+    /**
+     * Tokenizes the input, handing action the byte ranges of the two labels of every edge.
+     */
+    private void forEachEdge(EdgeConsumer action) {
+        int line = 1;
+        for (int i = 0; i < limit; line++) {
+            i = skipBlanks(i);
+            if (i < limit && input.get(i) != '#' && input.get(i) != '\n') {
+                int from = i;
+                i = skipLabel(i);
+                int fromLength = i - from;
+
+                i = skipBlanks(i);
+                int to = i;
+                i = skipLabel(i);
+                if (i == to) throw new IllegalArgumentException("Line " + line + ": expected an edge \"u v\"");
+
+                action.accept(from, fromLength, to, i - to);
+            }
+            while (i < limit && input.get(i) != '\n') i++;
+            i++;
+        }
+    }
+
+    private int skipBlanks(int i) {
+        while (i < limit && isBlank(input.get(i))) i++;
+        return i;
+    }
+
+    private int skipLabel(int i) {
+        while (i < limit && !isBlank(input.get(i)) && input.get(i) != '\n') i++;
+        return i;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * @return The id of the label at start, numbering it if new.
+     */
+    private int insert(int start, int length) {
+        int hash = hash(start, length), mask = table.length - 1;
+        int slot = hash & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && equals(id, start, length)) return id;
+        }
+
+        if (size == starts.length) {
+            hashes = Arrays.copyOf(hashes, 2 * size);
+            starts = Arrays.copyOf(starts, 2 * size);
+            lengths = Arrays.copyOf(lengths, 2 * size);
+            degree = Arrays.copyOf(degree, 2 * size);
+        }
+        hashes[size] = hash;
+        starts[size] = start;
+        lengths[size] = length;
+        table[slot] = ++size;
+        if (2 * size > table.length) grow();
+        return size - 1;
+    }
+
+    /**
+     * @return The id of the label at start, which must have been numbered.
+     */
+    private int find(int start, int length) {
+        int hash = hash(start, length), mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (hashes[id] == hash && equals(id, start, length)) return id;
+        }
+    }
+
+    private boolean equals(int id, int start, int length) {
+        if (lengths[id] != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (input.get(starts[id] + i) != input.get(start + i)) return false;
+        }
+        return true;
+    }
+
+    // FNV-1a, with the high bits folded in as the table is indexed by the low ones.
+    private int hash(int start, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = start; i < start + length; i++) {
+            hash = (hash ^ input.get(i)) * 0x01000193;
+        }
+        return hash ^ hash >>> 16;
+    }
+
+    private void grow() {
+        table = new int[2 * table.length];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = id + 1;
+        }
+    }
+}
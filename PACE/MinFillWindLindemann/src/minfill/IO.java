@@ -4,10 +4,15 @@ import minfill.graphs.adjacencyset.AdjacencySetGraph;
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
 import minfill.sets.Set;
+import minfill.sets.Universe;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.*;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.function.BiFunction;
 
 public class IO implements AutoCloseable {
     static final boolean printDebug = false;
@@ -22,30 +27,31 @@ public class IO implements AutoCloseable {
     }
 
     public void print(Set<Edge<String>> minFill) {
-        for (Edge edge : minFill) {
-            System.out.printf("%s %s\n", edge.from, edge.to);
+        // Buffered, as System.out flushes every line, which takes seconds for fills of millions of edges.
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+        for (Edge<String> edge : minFill) {
+            out.print(edge.from);
+            out.print(' ');
+            out.print(edge.to);
+            out.print('\n');
         }
-        System.out.flush();
+        out.flush();
     }
 
     public Graph<String> parse() {
-        Map<String, String> intern = new HashMap<>();
-        java.util.Set<Edge<String>> edges = new HashSet<>();
-        try (Scanner scanner = new Scanner(input)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                if (line.startsWith("#")) continue;
-
-                String[] tokens = line.split(" ");
-
-                intern.putIfAbsent(tokens[0], tokens[0]);
-                intern.putIfAbsent(tokens[1], tokens[1]);
+        return parse(AdjacencySetGraph::new);
+    }
 
-                edges.add(new Edge<>(intern.get(tokens[0]), intern.get(tokens[1])));
-            }
+    /**
+     * @param representation Constructor of the graph implementation to build from the vertices and the neighbors of
+     *                       each as ids, e.g. BitSetGraph::new.
+     */
+    public Graph<String> parse(BiFunction<Universe<String>, int[][], Graph<String>> representation) {
+        try {
+            return GraphParser.parse(GraphParser.read(input), representation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-
-        return new AdjacencySetGraph<>(Set.of(intern.values()), Set.of(edges));
     }
 
     @Override
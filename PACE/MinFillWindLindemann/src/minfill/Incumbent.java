@@ -0,0 +1,56 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.sets.Set;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Best known fill while the exact search runs. Every component is given a heuristic fill up front, which is replaced
+ * by every smaller fill of that component found later, by the other heuristics, the probes of the k search and
+ * solved atoms, so once seeded fill() is a triangulation at any time.
+ * Safe to read from another thread, e.g. a shutdown hook.
+ */
+public class Incumbent<T extends Comparable<T>> {
+    private final Map<Set<T>, Set<Edge<T>>> fills = new ConcurrentHashMap<>();
+    private final CountDownLatch seeded = new CountDownLatch(1);
+
+    /**
+     * Keeps fill as the fill of component, unless a smaller one is already known.
+     */
+    public void offer(Set<T> component, Set<Edge<T>> fill) {
+        fills.merge(component, fill, (known, offered) -> offered.size() <= known.size() ? offered : known);
+    }
+
+    /**
+     * Marks that every component has been offered a fill.
+     */
+    public void seeded() {
+        seeded.countDown();
+    }
+
+    /**
+     * @return fill(), once every component has been offered a fill, so it is a triangulation.
+     */
+    public Set<Edge<T>> awaitFill() throws InterruptedException {
+        seeded.await();
+        return fill();
+    }
+
+    @Contract(pure = true)
+    public Set<Edge<T>> get(Set<T> component) {
+        return fills.getOrDefault(component, Set.empty());
+    }
+
+    @Contract(pure = true)
+    public Set<Edge<T>> fill() {
+        Set<Edge<T>> result = Set.empty();
+        for (Set<Edge<T>> fill : fills.values()) {
+            result = result.union(fill);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package minfill;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds the smallest k for which a probe succeeds, assuming success is monotone in k.
+ * A probe of k may return a solution of any size; it counts as a success iff the size is at most k, but any
+ * solution returned tightens the upper bound.
+ *
+ * LINEAR tries lower, lower+1, ... like the original k loop. GALLOP tries lower, lower+1, lower+3, lower+7, ...
+ * until a probe succeeds and then binary searches between the largest failed k and the best solution found, so only
+ * O(log(OPT - lower)) probes are made.
+ */
+public class KSearch<R> {
+    public enum Strategy { LINEAR, GALLOP }
+
+    private final Strategy strategy;
+    private final IntFunction<Optional<R>> probe;
+    private final ToIntFunction<R> size;
+    private final Consumer<R> improved;
+    private int probes, successes;
+    private R best;
+
+    /**
+     * @param probe Tries to find a solution for k. Empty if k is known to be too small.
+     * @param size The size of a solution, comparable to k.
+     */
+    public KSearch(Strategy strategy, IntFunction<Optional<R>> probe, ToIntFunction<R> size) {
+        this(strategy, probe, size, solution -> {});
+    }
+
+    /**
+     * @param improved Called with every solution smaller than the best before it, as soon as a probe returns it.
+     */
+    public KSearch(Strategy strategy, IntFunction<Optional<R>> probe, ToIntFunction<R> size, Consumer<R> improved) {
+        this.strategy = strategy;
+        this.probe = probe;
+        this.size = size;
+        this.improved = improved;
+    }
+
+    /**
+     * @param lower A k known to be at most the optimum.
+     * @param incumbent A known solution, or null. Never probed, only used to bound the search.
+     * @return A solution of minimum size.
+     */
+    public R search(int lower, R incumbent) {
+        best = incumbent;
+        int lo = lower;
+
+        if (strategy == Strategy.LINEAR) {
+            for (int k = lo; !isOptimal(k); k++) {
+                if (probe(k)) break;
+            }
+        } else {
+            // Gallop up from lower until a probe succeeds, keeping lo as the smallest k not known to fail.
+            for (int step = 1; !isOptimal(lo); step *= 2) {
+                int k = best == null ? lower + step - 1 : Math.min(lower + step - 1, bound() - 1);
+                if (probe(k)) break;
+                lo = k + 1;
+            }
+            // Binary search in [lo, bound()).
+            while (!isOptimal(lo)) {
+                int k = lo + (bound() - 1 - lo) / 2;
+                if (!probe(k)) lo = k + 1;
+            }
+        }
+
+        IO.printf("k search (%s): %d probes, %d succeeded, from k=%d to %d\n", strategy, probes, successes, lower, size.applyAsInt(best));
+        return best;
+    }
+
+    private boolean probe(int k) {
+        probes++;
+        Optional<R> result = probe.apply(k);
+        result.ifPresent(this::offer);
+        if (result.isPresent() && size.applyAsInt(result.get()) <= k) {
+            successes++;
+            return true;
+        }
+        return false;
+    }
+
+    private void offer(R solution) {
+        if (best == null || size.applyAsInt(solution) < bound()) {
+            best = solution;
+            improved.accept(solution);
+        }
+    }
+
+    /**
+     * @return Whether every k below lo failed and the best solution has size lo, so it is optimal.
+     */
+    @Contract(pure = true)
+    private boolean isOptimal(int lo) {
+        return best != null && bound() <= lo;
+    }
+
+    @Contract(pure = true)
+    private int bound() {
+        return size.applyAsInt(best);
+    }
+
+    @Contract(pure = true)
+    public int getProbes() {
+        return probes;
+    }
+
+    @Contract(pure = true)
+    public int getSuccesses() {
+        return successes;
+    }
+}
@@ -2,38 +2,166 @@ package minfill;
 
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
+import minfill.graphs.MemoCache;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.heuristics.Heuristics;
 import minfill.kernel.MinFillKernel;
 import minfill.sets.Set;
+import minfill.sets.Universe;
 import minfill.tuples.Pair;
 import minfill.tuples.Triple;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 public class MinFill {
     private static MinFillKernel<String> kernel = new MinFillKernel<>();
     private static MinFillPolynomialReducer<String> easySolver = new MinFillPolynomialReducer<>();
     private static MinFillFomin<String> mfi = new MinFillFomin<>();
     private static IO io = new IO();
+    private static KSearch.Strategy strategy = KSearch.Strategy.GALLOP;
+    private static SubproblemScheduler scheduler = new SubproblemScheduler(1);
+
+    private static final Object printLock = new Object();
+    private static boolean printed;
 
     public static void main(String[] args) throws FileNotFoundException {
-        if (args.length != 0 && !args[0].startsWith("-")) { // Hack to read from file
-            io = new IO(new FileInputStream(new File(args[0])));
+        BiFunction<Universe<String>, int[][], Graph<String>> representation = AdjacencySetGraph::new;
+        Duration budget = null;
+        int parallelism = 1;
+        MemoCache.Policy memoPolicy = MemoCache.defaultPolicy;
+        long memoCeiling = MemoCache.defaultCeiling();
+
+        for (String arg : args) {
+            if (arg.equals("-bitset")) {
+                representation = BitSetGraph::new;
+            } else if (arg.startsWith("-threads=")) { // Parallelism of the branching in step B1.
+                parallelism = Integer.parseInt(arg.substring("-threads=".length()));
+            } else if (arg.startsWith("-jobs=")) { // Components and atoms solved at once.
+                setJobs(Integer.parseInt(arg.substring("-jobs=".length())));
+            } else if (arg.startsWith("-memo=")) { // Ceiling in megabytes of all memo tables together.
+                memoCeiling = Long.parseLong(arg.substring("-memo=".length())) << 20;
+            } else if (arg.startsWith("-memo-policy=")) { // unbounded, lru or cost.
+                memoPolicy = MemoCache.Policy.valueOf(arg.substring("-memo-policy=".length()).toUpperCase());
+            } else if (arg.equals("-linear")) { // Try k = lower bound, lower bound + 1, ... instead of galloping.
+                strategy = KSearch.Strategy.LINEAR;
+            } else if (arg.equals("-anytime")) { // Print the best fill found on SIGTERM.
+                budget = ChronoUnit.FOREVER.getDuration();
+            } else if (arg.startsWith("-anytime=")) { // ... or when the budget in seconds runs out.
+                budget = Duration.ofMillis((long) (1000 * Double.parseDouble(arg.substring("-anytime=".length()))));
+            } else if (!arg.startsWith("-")) { // Hack to read from file
+                io = new IO(new FileInputStream(new File(arg)));
+            }
         }
 
-        Graph<String> entireGraph = io.parse();
-        IO.printf("Graph of size (|V|, |E|) = (%d, %d)\n", entireGraph.getVertices().size(), entireGraph.getEdges().size());
+        // Every job may be in step C, with a memo table of its own, and the search tree has one more.
+        mfi = new MinFillFomin<>(parallelism, memoPolicy, memoCeiling / (scheduler.getParallelism() + 1));
 
-        io.print(minFill(entireGraph));
+        // Hooked before parsing, as that takes seconds on large graphs. The hook waits until the graph is seeded.
+        Incumbent<String> incumbent = new Incumbent<>();
+        if (budget != null) Runtime.getRuntime().addShutdownHook(new Thread(() -> printOnce(awaitFill(incumbent))));
+
+        try {
+            Graph<String> entireGraph = io.parse(representation);
+            IO.printf("Graph of size (|V|, |E|) = (%d, %d)\n", entireGraph.getVertices().size(), entireGraph.getEdges().size());
+            printOnce(budget == null ? minFill(entireGraph) : minFill(entireGraph, budget, incumbent));
+        } finally {
+            incumbent.seeded(); // Should parsing fail, the hook must not wait forever.
+        }
     }
 
-    public static Set<Edge<String>> minFill(Graph<String> entireGraph){
-        Set<Edge<String>> componentResult = Set.empty();
-        for (Set<String> component : entireGraph.components()) {
-            componentResult = componentResult.union(perComponent(entireGraph.inducedBy(component)));
+    /**
+     * Prints the first fill handed to it, so the main thread and the shutdown hook never both print.
+     */
+    private static void printOnce(Set<Edge<String>> fill) {
+        synchronized (printLock) {
+            if (printed) return;
+            io.print(fill);
+            printed = true;
         }
+    }
+
+    public static Set<Edge<String>> minFill(Graph<String> entireGraph) {
+        return minFill(entireGraph, new Incumbent<>());
+    }
+
+    /**
+     * Anytime version of minFill.
+     * @return The minimum fill if found within budget, otherwise the best fill found so far.
+     */
+    public static Set<Edge<String>> minFill(Graph<String> entireGraph, Duration budget) {
+        return minFill(entireGraph, budget, new Incumbent<>());
+    }
+
+    /**
+     * Anytime version of minFill, keeping the best fill found so far in incumbent.
+     * The heuristics and the exact search run in a daemon thread, which is interrupted when the budget runs out,
+     * stopping the heuristics as well. The min-degree fills, which cannot be stopped, are waited for if the budget runs
+     * out before them, so the fill returned is a triangulation however small the budget.
+     */
+    public static Set<Edge<String>> minFill(Graph<String> entireGraph, Duration budget, Incumbent<String> incumbent) {
+        FutureTask<Set<Edge<String>>> search = new FutureTask<>(() -> minFill(entireGraph, incumbent));
+        Thread thread = new Thread(search, "minfill-search");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            if (budget.compareTo(ChronoUnit.FOREVER.getDuration()) >= 0) return search.get();
+            return search.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            thread.interrupt(); // Not search.cancel(true), which would not run the search at all if not started yet.
+            Set<Edge<String>> fill = awaitFill(incumbent);
+            IO.printf("Budget exhausted, best fill found: %d\n", fill.size());
+            return fill;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * @return incumbent.awaitFill(), or the fill so far if interrupted while waiting.
+     */
+    private static Set<Edge<String>> awaitFill(Incumbent<String> incumbent) {
+        try {
+            return incumbent.awaitFill();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return incumbent.fill();
+        }
+    }
+
+    public static Set<Edge<String>> minFill(Graph<String> entireGraph, Incumbent<String> incumbent) {
+        Set<Set<String>> components = entireGraph.components();
+        offerHeuristicFills(entireGraph, components, incumbent);
+
+        Set<Edge<String>> componentResult = scheduler.solveAll(components, Set::size, component -> {
+            Graph<String> g = entireGraph.inducedBy(component);
+            Set<Edge<String>> fill = perComponent(g, incumbent.get(component), better -> {
+                assert g.addEdges(better).isChordal();
+                incumbent.offer(component, better);
+            });
+            incumbent.offer(component, fill);
+            return fill;
+        }, Set.empty(), Set::union);
 
         IO.printf("minFillSize: %d\n",componentResult.size());
         assert entireGraph.addEdges(componentResult).isChordal();
@@ -43,75 +171,139 @@ public class MinFill {
         return componentResult;
     }
 
-    private static Set<Edge<String>> perComponent(Graph<String> g) {
+    /**
+     * Solves the atoms of g, its pieces after decomposition by clique minimal separators, independently and in
+     * parallel if the scheduler allows. The separators need no fill, so a minimum fill of g is the union of minimum
+     * fills of the atoms.
+     * @param incumbent A minimal triangulation of g. It adds no edge across a clique minimal separator, so its edges
+     *                  within an atom are a minimal triangulation of the atom, which bounds the search of the atom.
+     */
+    private static Set<Edge<String>> perAtom(Graph<String> g, Set<Set<String>> atoms, Set<Edge<String>> incumbent, Consumer<Set<Edge<String>>> improved) {
+        IO.printf("Clique separator decomposition into %d atoms\n", atoms.size());
+        AtomicReference<Set<Edge<String>>> current = new AtomicReference<>(incumbent);
+        return scheduler.solveAll(atoms, Set::size, atom -> perComponent(g.inducedBy(atom), within(incumbent, atom),
+                better -> improved.accept(current.updateAndGet(fill -> fill.minus(within(fill, atom)).union(better)))),
+                Set.empty(), Set::union);
+    }
+
+    private static Set<Edge<String>> within(Set<Edge<String>> edges, Set<String> vertices) {
+        java.util.Set<Edge<String>> result = new HashSet<>();
+        for (Edge<String> edge : edges) {
+            if (vertices.contains(edge.from) && vertices.contains(edge.to)) result.add(edge);
+        }
+        return Set.of(result);
+    }
+
+    /**
+     * Sets how many components and atoms are solved at once.
+     */
+    static void setJobs(int jobs) {
+        scheduler.shutdown();
+        scheduler = new SubproblemScheduler(jobs);
+    }
+
+    /**
+     * Offers every component its min-degree fill, and then the fills of the other heuristics while they have time and
+     * this thread is not interrupted, so an anytime search stops them at its deadline.
+     */
+    private static void offerHeuristicFills(Graph<String> entireGraph, Set<Set<String>> components, Incumbent<String> incumbent) {
+        long start = System.nanoTime();
+        try {
+            for (Set<String> component : components) {
+                incumbent.offer(component, Heuristics.fastFill(entireGraph.inducedBy(component)));
+            }
+        } finally {
+            incumbent.seeded();
+        }
+
+        Thread thread = Thread.currentThread();
+        BooleanSupplier timeBound = Heuristics.timeBound(start), stopped = () -> thread.isInterrupted() || timeBound.getAsBoolean();
+        for (Set<String> component : components) {
+            Heuristics.bestFill(entireGraph.inducedBy(component), incumbent.get(component), stopped, better -> incumbent.offer(component, better));
+        }
+        IO.printf("Heuristic fill: %d\n", incumbent.fill().size());
+    }
+
+    /**
+     * @param incumbent A minimal triangulation of g, returned as soon as k reaches its size.
+     * @param improved Called with every fill of g found smaller than the one before it, by a probe of the k search or,
+     *                 spliced into the fill of g, by the search of an atom.
+     */
+    private static Set<Edge<String>> perComponent(Graph<String> g, Set<Edge<String>> incumbent, Consumer<Set<Edge<String>>> improved) {
         IO.printf("Component of size (|V|, |E|) = (%d, %d)\n", g.getVertices().size(), g.getEdges().size());
 
+        Set<Set<String>> atoms = g.atoms();
+        if (atoms.size() > 1) return perAtom(g, atoms, incumbent, improved);
+
         Triple<Set<String>, Set<String>, Integer> abk = kernel.kernelProcedure1And2(g);
 
         IO.printf("Kernel procedure 1 and 2 done. k=%d\n", abk.c);
 
-        int k = abk.c;
-        while (true) {
-            Optional<Pair<Graph<String>, Integer>> tmp = kernel.kernelProcedure3(g, abk.a, abk.b, k);
-            if (tmp.isPresent()) {
-                Graph<String> gPrime = tmp.get().a;
-                int kPrime = tmp.get().b;
+        IO.printf("Heuristic upper bound: %d\n", incumbent.size());
 
-                Set<Edge<String>> kernelAddedEdges = gPrime.getEdges().minus(g.getEdges());
-                int amtOfRemovedVertices = g.getVertices().size()-gPrime.getVertices().size();
-                IO.printf("Kernel procedure 3 for k=%d, edges added= %d vertices pruned=%d \n", kPrime, kernelAddedEdges.size(), amtOfRemovedVertices);
+        Map<Graph<String>, Set<Edge<String>>> solved = new HashMap<>();
+        IntFunction<Optional<Pair<Graph<String>, Integer>>> kernelProcedure3 = kernel.kernelProcedure3(g, abk.a, abk.b);
+        return new KSearch<>(strategy, k -> perComponent(g, kernelProcedure3, k, solved), Set::size, improved).search(abk.c, incumbent);
+    }
 
-                Set<Set<String>> components = gPrime.components();
+    /**
+     * @param solved Fills of g found for earlier k, by the kernel they were found for. Unless the search tree is
+     * needed the fill only depends on the kernel, so a k giving the same kernel as an earlier k gives the same fill.
+     * @return A fill of g found assuming the minimum fill is at most k: of size at most k if that is the case, and
+     * larger or empty otherwise.
+     */
+    private static Optional<Set<Edge<String>>> perComponent(Graph<String> g, IntFunction<Optional<Pair<Graph<String>, Integer>>> kernelProcedure3, int k, Map<Graph<String>, Set<Edge<String>>> solved) {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException();
 
-                if (components.size() > 1) {
-                    Set<Edge<String>> componentResult = Set.empty();
-                    for (Set<String> component : components) {
-                        componentResult = componentResult.union(perComponent(gPrime.inducedBy(component)));
-                    }
-                    return componentResult.union(kernelAddedEdges);
-                }
+        Optional<Pair<Graph<String>, Integer>> tmp = kernelProcedure3.apply(k);
+        if (tmp.isPresent()) {
+            Graph<String> kernelized = tmp.get().a, gPrime = kernelized;
+            int kPrime = tmp.get().b;
 
-                Set<Edge<String>> easyEdges = easySolver.findSafeEdges(gPrime);
+            if (solved.containsKey(kernelized)) {
+                IO.printf("Kernel for k=%d seen before\n", k);
+                return Optional.of(solved.get(kernelized));
+            }
 
-                gPrime = gPrime.addEdges(easyEdges);
-                kPrime -= easyEdges.size();
+            Set<Edge<String>> kernelAddedEdges = gPrime.getEdges().minus(g.getEdges());
+            int amtOfRemovedVertices = g.getVertices().size()-gPrime.getVertices().size();
+            IO.printf("Kernel procedure 3 for k=%d, edges added= %d vertices pruned=%d \n", kPrime, kernelAddedEdges.size(), amtOfRemovedVertices);
 
-                Set<String> removableVertices = easySolver.findRemovableVertices(gPrime);
-                gPrime = gPrime.inducedBy(gPrime.getVertices().minus(removableVertices));
+            Set<Set<String>> atoms = gPrime.atoms();
+            if (atoms.size() > 1) {
+                return remember(solved, kernelized, perAtom(gPrime, atoms, Heuristics.fastFill(gPrime), better -> {}).union(kernelAddedEdges));
+            }
 
-                IO.printf("%d easy-edges added. %d vertices removed \n", easyEdges.size(), removableVertices.size());
-                if(!easyEdges.isEmpty() || !removableVertices.isEmpty())
-                    return perComponent(gPrime).union(kernelAddedEdges).union(easyEdges);
+            Set<Edge<String>> easyEdges = easySolver.findSafeEdges(gPrime);
 
-                Optional<Set<String>> separator = easySolver.separatorsThatAreClique(gPrime);
+            gPrime = gPrime.addEdges(easyEdges);
+            kPrime -= easyEdges.size();
 
-                if (separator.isPresent()) {
-                    IO.println("Separator found");
-                    Set<Edge<String>> fill = Set.empty();
-                    Set<String> s = separator.get();
-                    for (Set<String> component : g.inducedBy(g.getVertices().minus(s)).components()) {
-                        fill = fill.union(perComponent(g.inducedBy(component.union(s))));
-                    }
+            Set<String> removableVertices = easySolver.findRemovableVertices(gPrime);
+            gPrime = gPrime.inducedBy(gPrime.getVertices().minus(removableVertices));
 
-                    return fill.union(kernelAddedEdges).union(easyEdges);
-                }
-                IO.println("Separator NOT found");
+            IO.printf("%d easy-edges added. %d vertices removed \n", easyEdges.size(), removableVertices.size());
+            if(!easyEdges.isEmpty() || !removableVertices.isEmpty())
+                return remember(solved, kernelized, perComponent(gPrime, Heuristics.fastFill(gPrime), better -> {}).union(kernelAddedEdges).union(easyEdges));
 
-                Optional<Graph<String>> result = mfi.stepB1(gPrime, kPrime);
+            Optional<Graph<String>> result = mfi.stepB1(gPrime, kPrime);
 
-                if (result.isPresent()) {
-                    Set<Edge<String>> minimumFill = result.get().getEdges().minus(g.getEdges());
+            if (result.isPresent()) {
+                Set<Edge<String>> minimumFill = result.get().getEdges().minus(g.getEdges());
 
-                    IO.printf("MinFillFomin found of size: %d Memoizer hits: %d\n", minimumFill.size(), MinFillFomin.memoizerHits.longValue());
-                    MinFillFomin.memoizerHits.reset();
+                IO.printf("MinFillFomin found of size: %d Memoizer %s\n", minimumFill.size(), mfi.getMemoStatistics());
 
-                    assert result.get().isChordal();
-                    assert gPrime.addEdges(minimumFill).isChordal();
+                assert result.get().isChordal();
+                assert gPrime.addEdges(minimumFill).isChordal();
 
-                    return minimumFill.union(kernelAddedEdges).union(easyEdges);
-                }
+                return Optional.of(minimumFill.union(kernelAddedEdges).union(easyEdges));
             }
-            k++;
         }
+        return Optional.empty();
+    }
+
+    private static Optional<Set<Edge<String>>> remember(Map<Graph<String>, Set<Edge<String>>> solved, Graph<String> kernelized, Set<Edge<String>> fill) {
+        solved.put(kernelized, fill);
+        return Optional.of(fill);
     }
 }
@@ -2,8 +2,11 @@ package minfill;
 
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
+import minfill.sets.Combinations;
 import minfill.sets.Set;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,8 +14,18 @@ import java.util.Optional;
  */
 public class MinFillExhaustive {
     public static <T extends Comparable<T>> Optional<Graph<T>> exhaustiveNonEdgeSearch(Graph<T> g, int k){
-        for (Set<Edge<T>> edges : Set.subsetsOfSize(g.getNonEdges(), k)) {
-            Graph<T> gWithSubsetEdges = g.addEdges(edges);
+        List<Edge<T>> nonEdges = new ArrayList<>();
+        for (Edge<T> edge : g.getNonEdges()) {
+            nonEdges.add(edge);
+        }
+
+        Combinations subsets = Combinations.of(nonEdges.size(), k);
+        while (subsets.advance()) {
+            List<Edge<T>> edges = new ArrayList<>(k);
+            for (int id : subsets.ids()) {
+                edges.add(nonEdges.get(id));
+            }
+            Graph<T> gWithSubsetEdges = g.addEdges(Set.of(edges));
             if(gWithSubsetEdges.isChordal()){
                 return Optional.of(gWithSubsetEdges);
             }
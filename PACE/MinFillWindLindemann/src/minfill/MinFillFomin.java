@@ -1,21 +1,85 @@
 package minfill;
 
 import minfill.graphs.*;
-import minfill.iterators.FilterIterable;
 import minfill.graphs.PotentialQuasiCliqueIterable;
 import minfill.sets.ImmutableSet;
 import minfill.sets.Set;
+import minfill.sets.Universe;
 import minfill.tuples.Pair;
 import org.jetbrains.annotations.Contract;
 
 import java.util.*;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 
 public class MinFillFomin<T extends Comparable<T>> {
-    public static LongAdder memoizerHits = new LongAdder();
+    private static final int parallelThreshold = 4;
+
+    private final ForkJoinPool pool;
+    private final MinFillSearchTree<T> searchTree;
+    private final MemoCache.Policy memoPolicy;
+    private final long memoCeiling;
+    private final MemoStatistics memoStatistics = new MemoStatistics();
+
+    public MinFillFomin() {
+        this(1);
+    }
+
+    /**
+     * Explores the branches of step B1, and of the search tree, in parallel on a pool of the given parallelism.
+     */
+    public MinFillFomin(int parallelism) {
+        this(parallelism, MemoCache.defaultPolicy, MemoCache.defaultCeiling());
+    }
+
+    /**
+     * @param memoCeiling Estimated bytes the memo table of step C, and that of the search tree, may each take up. Step C
+     *                    makes a table per call, so callers running several at once must divide their budget.
+     */
+    public MinFillFomin(int parallelism, MemoCache.Policy memoPolicy, long memoCeiling) {
+        this(parallelism > 1 ? new ForkJoinPool(parallelism) : null, memoPolicy, memoCeiling);
+    }
+
+    /**
+     * @param pool Pool to run the branches on, or null to search sequentially.
+     */
+    public MinFillFomin(ForkJoinPool pool, MemoCache.Policy memoPolicy, long memoCeiling) {
+        this.pool = pool;
+        this.searchTree = new MinFillSearchTree<>(pool, memoPolicy, memoCeiling);
+        this.memoPolicy = memoPolicy;
+        this.memoCeiling = memoCeiling;
+    }
+
+    /**
+     * @return The counters of the memo tables of step C. See MinFillSearchTree for those of the search tree.
+     */
+    @Contract(pure = true)
+    public MemoStatistics getMemoStatistics() {
+        return memoStatistics;
+    }
+
+    @Contract(pure = true)
+    public MinFillSearchTree<T> getSearchTree() {
+        return searchTree;
+    }
 
     @Contract(pure = true)
     public Optional<Graph<T>> stepB1(Graph<T> g, int k) {
+        if (pool == null) return sequentialStepB1(g, k, null);
+
+        Optional<Graph<T>> result = new BranchTask(g, k, null, Thread.currentThread()).invokeOn(pool);
+        if (result == null) throw new CancellationException();
+        return result;
+    }
+
+    /**
+     * @param task The task running the search, or null if it runs on the caller's thread.
+     */
+    @Contract(pure = true)
+    private Optional<Graph<T>> sequentialStepB1(Graph<T> g, int k, BranchingTask<T> task) {
         if (k <= 0 ) {
             if(g.isChordal()) return Optional.of(g);
             else return Optional.empty();
@@ -24,13 +88,15 @@ public class MinFillFomin<T extends Comparable<T>> {
         Set<Set<Edge<T>>> branches = branch(g, k);
 
         if (branches.isEmpty()) {
-            return stepB2(g,k);
+            return stepB2(g, k, task);
         } else {
+            BooleanSupplier stopped = stopCheck(task);
             for (Set<Edge<T>> branch : branches) {
+                if (stopped.getAsBoolean()) throw new CancellationException();
                 Graph<T> gPrime = g.addEdges(branch);
                 int kPrime = k - branch.size();
 
-                Optional<Graph<T>> res = stepB1(gPrime, kPrime);
+                Optional<Graph<T>> res = sequentialStepB1(gPrime, kPrime, task);
                 if (res.isPresent()) return res;
             }
         }
@@ -38,6 +104,36 @@ public class MinFillFomin<T extends Comparable<T>> {
         return Optional.empty();
     }
 
+    /**
+     * Step B1 with every branch forked as a subtask. Below parallelThreshold a task runs the sequential search.
+     */
+    @SuppressWarnings("serial") // Serializable only through ForkJoinTask; tasks are never serialized.
+    private class BranchTask extends BranchingTask<T> {
+        private final Graph<T> g;
+        private final int k;
+
+        private BranchTask(Graph<T> g, int k, BranchTask parent, Thread caller) {
+            super(parent, caller);
+            this.g = g;
+            this.k = k;
+        }
+
+        @Override
+        protected Optional<Graph<T>> compute() {
+            if (isStopped()) return null;
+            if (k < parallelThreshold) return unlessStopped(() -> sequentialStepB1(g, k, this));
+
+            Set<Set<Edge<T>>> branches = branch(g, k);
+            if (branches.isEmpty()) return unlessStopped(() -> stepB2(g, k, this));
+
+            List<BranchTask> tasks = new ArrayList<>();
+            for (Set<Edge<T>> branch : branches) {
+                tasks.add(new BranchTask(g.addEdges(branch), k - branch.size(), this, caller()));
+            }
+            return firstSuccess(tasks);
+        }
+    }
+
     /**
      * @param g A graph.
      * @param k Max number of edges to make g chordal.
@@ -101,8 +197,26 @@ public class MinFillFomin<T extends Comparable<T>> {
         return Set.of(changes);
     }
 
+    /**
+     * @return Whether the search should stop: task was stopped, or with no task, the calling thread was interrupted.
+     */
+    private static BooleanSupplier stopCheck(BranchingTask<?> task) {
+        if (task != null) return task::isStopped;
+        Thread caller = Thread.currentThread();
+        return caller::isInterrupted;
+    }
+
     @Contract(pure = true)
     public Optional<Graph<T>> stepB2(Graph<T> g, int k) {
+        return stepB2(g, k, null);
+    }
+
+    /**
+     * @param task The task running the search, or null if it runs on the caller's thread. Throws
+     *             CancellationException once it is stopped.
+     */
+    @Contract(pure = true)
+    private Optional<Graph<T>> stepB2(Graph<T> g, int k, BranchingTask<T> task) {
         IO.printf("Step B2: Non-reducible instance found. k=%d\n", k);
         Graph<T> gPrime = g;
 
@@ -118,50 +232,56 @@ public class MinFillFomin<T extends Comparable<T>> {
         }
         else if(k <= 10) { // simple but fast algorithm for low values of k
             IO.println("Shortcut 'search tree' taken");
-            return MinFillSearchTree.minFillSearchTree(g, k);
+            return searchTree.search(g, k, task);
         }
         else if(k < 100) { // polynomial for each (potentially exponential) minimal separator.
             IO.println("Shortcut 'minimal separator for cliques' taken");
-            piI = todincaVitalPotentialMaximalCliqueSearch(gPrime, k);
+            piI = todincaVitalPotentialMaximalCliqueSearch(gPrime, k, stopCheck(task));
         }
         else // Sub exponential: Fomin
-            piI = generateVitalPotentialMaximalCliques(gPrime, k);
+            piI = generateVitalPotentialMaximalCliques(gPrime, k, stopCheck(task));
 
-        return stepC(g, k, piI);
+        return stepC(g, k, piI, stopCheck(task));
     }
 
     @Contract(pure = true)
     public Set<Set<T>> exhaustiveVitalPotentialMaximalCliqueSearch(Graph<T> g, int k) {
         java.util.Set<Set<T>> potentialMaximalCliques = new HashSet<>();
+        PotentialMaximalCliqueChecker<T> checker = new PotentialMaximalCliqueChecker<>(g);
+        Universe<T> universe = checker.getUniverse();
 
-        for (Set<T> vertices : Set.subsetsOfSizeAtMost(g.getVertices(), g.getVertices().size())) {
-            if (g.isVitalPotentialMaximalClique(vertices, k)) {
-                potentialMaximalCliques.add(vertices);
+        new VitalSubsetGenerator<>(checker).forEach(universe.size(), k, (subset, ids, size) -> {
+            if (checker.isPotentialMaximalClique(subset)) {
+                potentialMaximalCliques.add(universe.subset(ids, size));
             }
-        }
+            return true;
+        });
         return Set.of(potentialMaximalCliques);
     }
 
     @Contract(pure = true)
-    private Set<Set<T>> oneMoreVertex(Graph<T> g, Graph<T> gPrime, T a, Set<Set<T>> piGPrime, Set<Set<T>> deltaG, Set<Set<T>> deltaGPrime) {
+    private Set<Set<T>> oneMoreVertex(Graph<T> g, Graph<T> gPrime, T a, Set<Set<T>> piGPrime, Set<Set<T>> deltaG, Set<Set<T>> deltaGPrime, BooleanSupplier stopped) {
         java.util.Set<Set<T>> potentialMaximalCliques = new HashSet<>();
+        PotentialMaximalCliqueChecker<T> checker = new PotentialMaximalCliqueChecker<>(g);
         for (Set<T> omegaPrime : piGPrime) {
-            if(g.isPotentialMaximalClique(omegaPrime)){
+            if(checker.isPotentialMaximalClique(omegaPrime)){
                 potentialMaximalCliques.add(omegaPrime);
             }
-            else if(g.isPotentialMaximalClique(omegaPrime.add(a))){
+            else if(checker.isPotentialMaximalClique(omegaPrime.add(a))){
                 potentialMaximalCliques.add(omegaPrime.add(a));
             }
         }
         for (Set<T> S : deltaG) {
-            if(g.isPotentialMaximalClique(S.add(a))){
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            if(checker.isPotentialMaximalClique(S.add(a))){
                 potentialMaximalCliques.add(S.add(a));
             }
             else if(!S.contains(a) && !deltaGPrime.contains(S)){
                 for (Set<T> T : deltaG) {
+                    if (stopped.getAsBoolean()) throw new CancellationException();
                     for (Set<T> C : g.fullComponents(S)) {
                         Set<T> set = S.union(T.intersect(C));
-                        if(g.isPotentialMaximalClique(set)){
+                        if(checker.isPotentialMaximalClique(set)){
                             potentialMaximalCliques.add(set);
                         }
                     }
@@ -171,7 +291,7 @@ public class MinFillFomin<T extends Comparable<T>> {
         return Set.of(potentialMaximalCliques);
     }
     @Contract(pure = true)
-    private Set<Set<T>> todincaVitalPotentialMaximalCliqueSearch(Graph<T> graph, int k) {
+    private Set<Set<T>> todincaVitalPotentialMaximalCliqueSearch(Graph<T> graph, int k, BooleanSupplier stopped) {
         List<T> vertices = new ArrayList<T>();
         Set<Set<T>> deltaG, deltaGPrime, piG, piGPrime = Set.empty();
 
@@ -187,7 +307,7 @@ public class MinFillFomin<T extends Comparable<T>> {
             Graph<T> gJ = gI.inducedBy(gI.getVertices().remove(a));
             deltaGPrime = gJ.minimalSeparators();
 
-            piGPrime = piG.union(oneMoreVertex(gI, gJ, a, piG, deltaG, deltaGPrime));
+            piGPrime = piG.union(oneMoreVertex(gI, gJ, a, piG, deltaG, deltaGPrime, stopped));
 
             deltaG = deltaGPrime;
             piG = piGPrime;
@@ -203,28 +323,41 @@ public class MinFillFomin<T extends Comparable<T>> {
         return Set.of(vitalPotentialMaximalCliques);
     }
 
+    /**
+     * The subsets of step 2 are split by their first vertex, and the quasi cliques of steps 1 and 3 by the subsets they
+     * are found from, and checked in parallel on the pool, if there is one. Each worker has its own checker.
+     */
     @Contract(pure = true)
     public Set<Set<T>> generateVitalPotentialMaximalCliques(Graph<T> g, int k) {
-        IO.println("Generating vital potential maximal cliques");
-        java.util.Set<Set<T>> vitalPotentialMaximalCliques = new HashSet<>();
+        return generateVitalPotentialMaximalCliques(g, k, stopCheck(null));
+    }
 
-        // all vertex subsets of size at most 5*sqrt(k)+2 (step 2)
-        for (Set<T> vertices : Set.subsetsOfSizeAtMost(g.getVertices(), (int) (5 * Math.sqrt(k) + 2))) {
-            if (g.isVitalPotentialMaximalClique(vertices, k)) {
-                vitalPotentialMaximalCliques.add(vertices);
-            }
-        }
+    /**
+     * @param stopped Checked by the workers, which skip the remaining sets once it holds. Then throws
+     *                CancellationException.
+     */
+    @Contract(pure = true)
+    private Set<Set<T>> generateVitalPotentialMaximalCliques(Graph<T> g, int k, BooleanSupplier stopped) {
+        IO.println("Generating vital potential maximal cliques");
+        java.util.Set<Set<T>> vitalPotentialMaximalCliques = ConcurrentHashMap.newKeySet();
+        ThreadLocal<PotentialMaximalCliqueChecker<T>> checkers = ThreadLocal.withInitial(() -> new PotentialMaximalCliqueChecker<>(g));
+        Universe<T> universe = checkers.get().getUniverse();
+
+        // all vertex subsets of size at most 5*sqrt(k)+2 (step 2), skipping those with more than k non-edges.
+        IntStream firstVertices = IntStream.range(0, universe.size());
+        inParallel(() -> (pool != null ? firstVertices.parallel() : firstVertices).forEach(first -> {
+            PotentialMaximalCliqueChecker<T> checker = checkers.get();
+            new VitalSubsetGenerator<>(checker).forEach(first, (int) (5 * Math.sqrt(k) + 2), k, (subset, ids, size) -> {
+                if (checker.isPotentialMaximalClique(subset)) vitalPotentialMaximalCliques.add(universe.subset(ids, size));
+                return !stopped.getAsBoolean();
+            });
+        }), stopped);
         IO.println("step B2: case 2 done: " + vitalPotentialMaximalCliques.size());
 
         // enumerate quasi-cliques. (Step 1)
-        Iterable<Set<T>> vitalQuasiCliques = new FilterIterable<>(
-                new PotentialQuasiCliqueIterable<>(g, k),
-                t -> !vitalPotentialMaximalCliques.contains(t) && g.isVitalPotentialMaximalClique(t, k) // predicate for potential quasi cliques.
-        );
-        for (Set<T> vitalPotentialMaxClique : vitalQuasiCliques) {
-            vitalPotentialMaximalCliques.add(vitalPotentialMaxClique);
-        }
-
+        inParallel(() -> new PotentialQuasiCliqueIterable<>(g, k).stream(pool != null)
+                .filter(t -> !stopped.getAsBoolean() && !vitalPotentialMaximalCliques.contains(t) && checkers.get().isVitalPotentialMaximalClique(t, k))
+                .forEach(vitalPotentialMaximalCliques::add), stopped);
         IO.println("step B2: case 1 done: " + vitalPotentialMaximalCliques.size());
 
         // step 3 of generating vital potential maximal cliques
@@ -232,23 +365,30 @@ public class MinFillFomin<T extends Comparable<T>> {
             Set<Edge<T>> fill = g.cliqueify(g.neighborhood(vertex).toSet());
             if(!fill.isEmpty()) {
                 Graph<T> h = g.addEdges(fill);
-                vitalQuasiCliques = new FilterIterable<>(
-                        new PotentialQuasiCliqueIterable<>(h, k),
-                        t -> !vitalPotentialMaximalCliques.contains(t) && g.isVitalPotentialMaximalClique(t, k) // predicate for potential quasi cliques.
-                );
-                for (Set<T> vitalPotentialMaxClique : vitalQuasiCliques) {
-                    vitalPotentialMaximalCliques.add(vitalPotentialMaxClique);
-                }
+                inParallel(() -> new PotentialQuasiCliqueIterable<>(h, k).stream(pool != null)
+                        .filter(t -> !stopped.getAsBoolean() && !vitalPotentialMaximalCliques.contains(t) && checkers.get().isVitalPotentialMaximalClique(t, k))
+                        .forEach(vitalPotentialMaximalCliques::add), stopped);
             }
         }
         IO.println("step B2: case 3 done: " + vitalPotentialMaximalCliques.size());
         return Set.of(vitalPotentialMaximalCliques);
     }
 
+    /**
+     * Runs stage on the pool, so the parallel streams it builds use its workers, or on this thread if there is no
+     * pool. Stages skip the remaining sets once stopped holds.
+     */
+    private void inParallel(Runnable stage, BooleanSupplier stopped) {
+        if (pool == null) stage.run();
+        else pool.submit(stage).join();
+        if (stopped.getAsBoolean()) throw new CancellationException();
+    }
+
     // Implementation of Lemma 4.1
     @Contract(pure = true)
     private java.util.Set<Set<T>> enumerateQuasiCliques(Graph<T> g, int k) {
         java.util.Set<Set<T>> potentialMaximalCliques = new HashSet<>();
+        PotentialMaximalCliqueChecker<T> checker = new PotentialMaximalCliqueChecker<>(g);
         Iterable<Set<T>> vertexSubsets = Set.subsetsOfSizeAtMost(g.getVertices(), (int)(5*Math.sqrt(k)));
 
         for (Set<T> z : vertexSubsets) {
@@ -259,7 +399,7 @@ public class MinFillFomin<T extends Comparable<T>> {
             for (Set<T> s : h.minimalSeparators()) {
                 if(g.isClique(s)){
                     Set<T> c = s.union(z);
-                    if (!potentialMaximalCliques.contains(c) && g.isPotentialMaximalClique(c)) {
+                    if (!potentialMaximalCliques.contains(c) && checker.isPotentialMaximalClique(c)) {
                         potentialMaximalCliques.add(c);
                     }
                 }
@@ -269,7 +409,7 @@ public class MinFillFomin<T extends Comparable<T>> {
                 // Case 2
                 if (g.isClique(maximalClique)) {
                     Set<T> c = maximalClique.union(z);
-                    if (!potentialMaximalCliques.contains(c) && g.isPotentialMaximalClique(c)) {
+                    if (!potentialMaximalCliques.contains(c) && checker.isPotentialMaximalClique(c)) {
                         potentialMaximalCliques.add(c);
                     }
                 }
@@ -284,7 +424,7 @@ public class MinFillFomin<T extends Comparable<T>> {
                         }
                     }
                     Set<T> c = g.neighborhood(Y).add(y);
-                    if (!potentialMaximalCliques.contains(c) && g.isPotentialMaximalClique(c)) {
+                    if (!potentialMaximalCliques.contains(c) && checker.isPotentialMaximalClique(c)) {
                         potentialMaximalCliques.add(c);
                     }
                 }
@@ -296,26 +436,39 @@ public class MinFillFomin<T extends Comparable<T>> {
 
     @Contract(pure = true)
     public Optional<Graph<T>> stepC(Graph<T> g, int k, Set<Set<T>> piI) {
+        return stepC(g, k, piI, stopCheck(null));
+    }
+
+    @Contract(pure = true)
+    private Optional<Graph<T>> stepC(Graph<T> g, int k, Set<Set<T>> piI, BooleanSupplier stopped) {
         IO.println("Step C: All ("+piI.size()+") vital potential maximal cliques found.");
-        Map<Pair, Set<Set<T>>> piSC = generatePiSC(g, piI);
-        Map<Graph<T>, Set<Edge<T>>> memoizer = new HashMap<>();
+        Map<Pair<Set<T>, Set<T>>, Set<Set<T>>> piSC = generatePiSC(g, piI, stopped);
+        MemoCache<T, PackedEdgeSet> memoizer = MemoCache.create(memoPolicy, memoCeiling, fill -> 16L * fill.size(), memoStatistics);
+        Universe<T> universe = g.getUniverse();
         for (Set<T> omega : piI) {
-            Set<Edge<T>> fill = g.cliqueify(omega);
-            Graph<T> filled = g.addEdges(fill);
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            PackedEdgeSet fill = g.cliqueify(omega, universe);
+            Graph<T> filled = g.addEdges(fill, universe);
             for (Set<T> c : g.inducedBy(g.getVertices().minus(omega)).components()) {
                 Set<T> neighborhoodC = g.neighborhood(c);
-                fill = fill.union(minFillF(filled.inducedBy(c.union(neighborhoodC)), new Pair<>(neighborhoodC, c), piSC, memoizer));
+                fill.addAll(minFillF(filled.inducedBy(c.union(neighborhoodC)), new Pair<>(neighborhoodC, c), piSC, memoizer, universe, stopped));
             }
-            if(fill.size()<=k) return Optional.of(g.addEdges(fill));
+            if(fill.size()<=k) return Optional.of(g.addEdges(fill, universe));
         }
         return Optional.empty();
     }
 
     @Contract(pure = true)
-    public Map<Pair, Set<Set<T>>> generatePiSC(Graph<T> g, Set<Set<T>> piI)
+    public Map<Pair, Set<Set<T>>> generatePiSC(Graph<T> g, Set<Set<T>> piI) {
+        return new HashMap<>(generatePiSC(g, piI, stopCheck(null)));
+    }
+
+    @Contract(pure = true)
+    private Map<Pair<Set<T>, Set<T>>, Set<Set<T>>> generatePiSC(Graph<T> g, Set<Set<T>> piI, BooleanSupplier stopped)
     {
-        Map<Pair, Set<Set<T>>> piSC = new HashMap<>();
+        Map<Pair<Set<T>, Set<T>>, Set<Set<T>>> piSC = new HashMap<>();
         for (Set<T> omega : piI) {
+            if (stopped.getAsBoolean()) throw new CancellationException();
             Graph<T> gMinusOmega = g.inducedBy(g.getVertices().minus(omega));
             Set<Set<T>> components = gMinusOmega.components();
             for (Set<T> component : components) {
@@ -323,7 +476,7 @@ public class MinFillFomin<T extends Comparable<T>> {
                 for (Set<T> c : g.fullComponents(s)) {
                     if(s.isProperSubsetOf(omega) && omega.isSubsetOf(s.union(c)))
                     {
-                        Pair pair = new Pair<>(s, c);
+                        Pair<Set<T>, Set<T>> pair = new Pair<>(s, c);
                         if(!piSC.containsKey(pair)) piSC.put(pair, new ImmutableSet<>(omega));
                         else piSC.put(pair, piSC.get(pair).add(omega));
                     }
@@ -333,31 +486,35 @@ public class MinFillFomin<T extends Comparable<T>> {
         return piSC;
     }
 
-    public Set<Edge<T>> minFillF(Graph<T> f, Pair sc, Map<Pair, Set<Set<T>>> piSC, Map<Graph<T>, Set<Edge<T>>> memoizer){
-        Set<Edge<T>> memoizedResult = memoizer.get(f);
-        if(memoizedResult != null) {
-            memoizerHits.increment();
-            return memoizedResult;
-        }
+    /**
+     * @param stopped Throws CancellationException once it holds.
+     * @return The fill as ids over universe, shared with the memo table, so it must not be modified.
+     */
+    public PackedEdgeSet minFillF(Graph<T> f, Pair<Set<T>, Set<T>> sc, Map<Pair<Set<T>, Set<T>>, Set<Set<T>>> piSC, MemoCache<T, PackedEdgeSet> memoizer, Universe<T> universe, BooleanSupplier stopped){
+        PackedEdgeSet memoizedResult = memoizer.get(f);
+        if(memoizedResult != null) return memoizedResult;
+
+        long start = System.nanoTime();
 
-        Set<Edge<T>> result = f.getNonEdges();
+        PackedEdgeSet result = f.getNonEdges(universe);
         if(!piSC.containsKey(sc)){
             IO.println("SC not found in piSC");
             return result;
         }
         for (Set<T> omegaPrime : piSC.get(sc)) {
-            Set<Edge<T>> fill = f.cliqueify(omegaPrime);
-            Graph<T> filled = f.addEdges(fill);
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            PackedEdgeSet fill = f.cliqueify(omegaPrime, universe);
+            Graph<T> filled = f.addEdges(fill, universe);
 
             for (Set<T> cPrime : f.inducedBy(f.getVertices().minus(omegaPrime)).components()) {
                 if (fill.size() >= result.size()) break;
                 Set<T> neighborhoodCPrime = f.neighborhood(cPrime);
-                fill = fill.union(minFillF(filled.inducedBy(cPrime.union(neighborhoodCPrime)), new Pair<>(neighborhoodCPrime, cPrime), piSC, memoizer));
+                fill.addAll(minFillF(filled.inducedBy(cPrime.union(neighborhoodCPrime)), new Pair<>(neighborhoodCPrime, cPrime), piSC, memoizer, universe, stopped));
             }
             if (fill.size() < result.size()) result = fill;
         }
 
-        memoizer.put(f, result);
+        memoizer.put(f, result, System.nanoTime() - start);
         return result;
     }
 }
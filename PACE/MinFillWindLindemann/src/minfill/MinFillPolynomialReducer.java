@@ -2,14 +2,18 @@ package minfill;
 
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
+import minfill.graphs.MinimalSeparators;
 import minfill.iterators.SomeMinimalSeparatorIterable;
 import minfill.sets.Set;
 import org.jetbrains.annotations.Contract;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 
 /**
  * Created by aws on 25-04-2017.
@@ -146,35 +150,48 @@ public class MinFillPolynomialReducer<T extends Comparable<T>> {
         return result;
     }
 
+    /**
+     * Completes minimal separators missing exactly one edge, until there are none. Completing a minimal separator S
+     * of G gives a graph whose minimal separators are those of G not crossing S (Parra, Scheffler), so no separator is
+     * ever new: the separators of the input are enumerated once, those no longer minimal are skipped, and after adding
+     * an edge only the separators seen before that contain both its ends are looked at again.
+     */
     private Set<Edge<T>> higherLevelMinimalSeparatorsAlmostCliquesReducer(Graph<T> g) {
         Set<Edge<T>> result = Set.empty();
 
-        boolean hasChanged;
-        outer:
-        do {
-            hasChanged = false;
-            for (Set<T> separator : g.minimalSeparators()) {
-                Set<Edge<T>> nonEdges = g.inducedBy(separator).getNonEdges();
-                if (nonEdges.size() == 1) {
-                    g = g.addEdges(nonEdges);
-                    result = result.union(nonEdges);
-                    hasChanged = true;
-                    continue outer; // To start from the new graph.
+        MinimalSeparators<T> separators = new MinimalSeparators<>(g);
+        Iterator<Set<T>> unseen = separators.iterator();
+        Queue<Integer> recheck = new ArrayDeque<>();
+        int seen = 0;
+
+        while (!recheck.isEmpty() || unseen.hasNext()) {
+            Set<T> separator;
+            if (recheck.isEmpty()) {
+                separator = unseen.next();
+                seen++;
+            } else {
+                separator = separators.get(recheck.poll());
+            }
+
+            Set<Edge<T>> nonEdges = g.cliqueify(separator);
+            if (nonEdges.size() == 1 && (result.isEmpty() || g.fullComponents(separator).size() >= 2)) {
+                Edge<T> edge = nonEdges.iterator().next();
+                g = g.addEdges(nonEdges);
+                result = result.union(nonEdges);
+
+                for (int i = 0; i < seen; i++) {
+                    Set<T> other = separators.get(i);
+                    if (other.contains(edge.from) && other.contains(edge.to)) {
+                        recheck.add(i);
+                    }
                 }
             }
-        } while (hasChanged);
+        }
 
         return result;
     }
 
     public Optional<Set<T>> separatorsThatAreClique(Graph<T> g) {
-        for (Set<T> separator : g.minimalSeparators()) {
-            if (g.isClique(separator)) {
-                return Optional.of(separator);
-            }
-        }
-
-        return Optional.empty();
+        return new MinimalSeparators<>(g).stream().filter(g::isClique).findFirst();
     }
 }
-
@@ -1,63 +1,176 @@
 package minfill;
 
-import minfill.graphs.Edge;
 import minfill.graphs.Graph;
-import minfill.iterators.PairIterable;
-import minfill.sets.Set;
-import minfill.tuples.Pair;
+import minfill.graphs.MemoCache;
+import minfill.graphs.MemoStatistics;
+import minfill.graphs.TrailGraph;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 /**
  * Created by aws on 08-05-2017.
+ *
+ * Finds a chordless cycle and branches on its chords, adding them to a TrailGraph and rolling back. Graphs found not to
+ * be solvable with k edges, for k at least minDepth, are remembered per instance in a memo table shared by all workers,
+ * as the fact does not depend on how the graph was reached. The table keeps the largest such k per graph, as a graph
+ * not solvable with k edges is not solvable with fewer either. It is keyed on the fingerprint, which the graphs along a
+ * branch update per added edge, and probed with it, so a graph is only copied out of its TrailGraph to be inserted.
+ * With a pool the branches are run as tasks with work stealing, and the first success in branch order is returned, as
+ * in the sequential search.
  */
-public class MinFillSearchTree {
-    private static int
-            memoizerCounter,
-            minDepth = 7;
-    private static HashMap<Integer, java.util.Set<Graph>> nonSolvableGraphs;
+public class MinFillSearchTree<T extends Comparable<T>> {
+    private static final int minDepth = 7, parallelThreshold = 4;
+
+    private final ForkJoinPool pool;
+    private final MemoCache<T, Integer> nonSolvableGraphs;
+
+    public MinFillSearchTree() {
+        this(null);
+    }
+
+    public MinFillSearchTree(int parallelism) {
+        this(parallelism > 1 ? new ForkJoinPool(parallelism) : null);
+    }
+
+    public MinFillSearchTree(ForkJoinPool pool) {
+        this(pool, MemoCache.defaultPolicy, MemoCache.defaultCeiling());
+    }
+
+    /**
+     * @param pool Pool to run the branches on, or null to search sequentially.
+     * @param memoCeiling Estimated bytes the graphs found not to be solvable may take up.
+     */
+    public MinFillSearchTree(ForkJoinPool pool, MemoCache.Policy memoPolicy, long memoCeiling) {
+        this.pool = pool;
+        this.nonSolvableGraphs = MemoCache.create(memoPolicy, memoCeiling, k -> 16, new MemoStatistics());
+    }
 
     public static <T extends Comparable<T>> Optional<Graph<T>> minFillSearchTree(Graph<T> g, int k){
-        memoizerCounter = 0;
-        nonSolvableGraphs = new HashMap<>();
-        for (int i = minDepth; i <= k; i++) {
-            if(!nonSolvableGraphs.containsKey(i)){
-                nonSolvableGraphs.put(i, new HashSet<>());
-            }
+        return new MinFillSearchTree<T>().search(g, k);
+    }
+
+    public Optional<Graph<T>> search(Graph<T> g, int k) {
+        return search(g, k, null);
+    }
+
+    /**
+     * @param parent The task of an enclosing search running this one, which is stopped with it, or null if this runs
+     *               on the caller's thread. Throws CancellationException once stopped.
+     */
+    Optional<Graph<T>> search(Graph<T> g, int k, BranchingTask<T> parent) {
+        long hits = getMemoStatistics().getHits();
+        Thread caller = Thread.currentThread();
+
+        TrailGraph<T> trail = new TrailGraph<>(g);
+        Optional<Graph<T>> tGraph;
+        if (pool == null) {
+            BooleanSupplier stopped = parent != null ? parent::isStopped : caller::isInterrupted;
+            tGraph = minFillSearchTreeRecoursive(trail, k, stopped) ? Optional.of(trail.snapshot()) : Optional.empty();
+        } else {
+            // Inside an enclosing task this is a worker of the pool, so the root task runs here with its branches forked.
+            tGraph = parent != null
+                    ? new SearchTask(trail, k, parent, parent.caller()).invoke()
+                    : new SearchTask(trail, k, null, caller).invokeOn(pool);
+            if (tGraph == null) throw new CancellationException();
         }
 
-        Optional<Graph<T>> tGraph = minFillSearchTreeRecoursive(g, k);
-        IO.printf("memoizer hits in minFillSearchTree: %d\n", memoizerCounter);
+        IO.printf("memoizer hits in minFillSearchTree: %d\n", getMemoStatistics().getHits() - hits);
         return tGraph;
     }
-    private static <T extends Comparable<T>> Optional<Graph<T>> minFillSearchTreeRecoursive(Graph<T> g, int k){
+
+    public MemoStatistics getMemoStatistics() {
+        return nonSolvableGraphs.getStatistics();
+    }
+
+    /**
+     * Branches by adding a chord to g, recursing and rolling back, so g is only copied for the memo table.
+     * @param stopped Throws CancellationException once it holds.
+     * @return Whether g can be made chordal by adding at most k edges. If so g is left chordal, otherwise unchanged.
+     */
+    private boolean minFillSearchTreeRecoursive(TrailGraph<T> g, int k, BooleanSupplier stopped){
+        if (stopped.getAsBoolean()) throw new CancellationException();
         if(k==0 ){ // base case
-            if(g.isChordal()) return Optional.of(g);
-            else return Optional.empty();
-        }
-        if(k >= minDepth) { // memoize check
-            if(nonSolvableGraphs.get(k).contains(g)){
-                memoizerCounter++;
-                if(k >= 10) IO.printf("nonSolvableGraphs hit at k: %d\n", k);
-                return Optional.empty();
-            }
+            return g.isChordal();
         }
+        if (isNonSolvable(g, k)) return false;
+        long start = System.nanoTime();
 
         // the search tree algorithm: find a cycle and branch on possible chords.
-        for (Pair<T, T> pair : new PairIterable<>(Set.of(g.findChordlessCycle().get()))) {
-            if(!g.isAdjacent(pair.a, pair.b)){
-                Optional<Graph<T>> result = minFillSearchTreeRecoursive(g.addEdge(new Edge<>(pair.a, pair.b)), k-1);
-                if(result.isPresent())
-                    return result;
+        Optional<int[]> cycle = g.findChordlessCycle();
+        if (!cycle.isPresent()) return true; // chordal with edges to spare, k is above the minimum fill
+        int[] c = cycle.get();
+        int checkpoint = g.checkpoint();
+        for (int i = 0; i < c.length; i++) {
+            for (int j = i + 1; j < c.length; j++) {
+                if (g.addEdge(c[i], c[j])) {
+                    if (minFillSearchTreeRecoursive(g, k - 1, stopped)) return true;
+                    g.rollback(checkpoint);
+                }
             }
         }
 
-        if(k >= minDepth) {// store in memoizer
-            nonSolvableGraphs.get(k).add(g);
+        setNonSolvable(g, k, System.nanoTime() - start); // Rolled back to g as it was entered.
+        return false;
+    }
+
+    private boolean isNonSolvable(TrailGraph<T> g, int k) {
+        if (k < minDepth) return false;
+
+        Integer nonSolvable = nonSolvableGraphs.get(g.fingerprint(), g::isSnapshot);
+        if (nonSolvable == null || nonSolvable < k) return false;
+
+        if(k >= 10) IO.printf("nonSolvableGraphs hit at k: %d\n", k);
+        return true;
+    }
+
+    private void setNonSolvable(TrailGraph<T> g, int k, long cost) {
+        if (k >= minDepth) nonSolvableGraphs.merge(g.snapshot(), k, cost, Math::max);
+    }
+
+    @SuppressWarnings("serial") // Serializable only through ForkJoinTask; tasks are never serialized.
+    private class SearchTask extends BranchingTask<T> {
+        private final TrailGraph<T> g;
+        private final int k;
+
+        private SearchTask(TrailGraph<T> g, int k, BranchingTask<T> parent, Thread caller) {
+            super(parent, caller);
+            this.g = g;
+            this.k = k;
         }
 
-        return Optional.empty();
+        @Override
+        protected Optional<Graph<T>> compute() {
+            if (isStopped()) return null;
+            if (k < parallelThreshold) {
+                return unlessStopped(() -> minFillSearchTreeRecoursive(g, k, this::isStopped) ? Optional.of(g.snapshot()) : Optional.empty());
+            }
+            if (isNonSolvable(g, k)) return Optional.empty();
+            long start = System.nanoTime();
+
+            Optional<int[]> cycle = g.findChordlessCycle();
+            if (!cycle.isPresent()) return Optional.of(g.snapshot());
+
+            // Every branch gets its own copy of the graph, as the branches run concurrently.
+            int[] c = cycle.get();
+            List<SearchTask> tasks = new ArrayList<>();
+            for (int i = 0; i < c.length; i++) {
+                for (int j = i + 1; j < c.length; j++) {
+                    if (!g.isAdjacent(c[i], c[j])) {
+                        TrailGraph<T> branch = g.copy();
+                        branch.addEdge(c[i], c[j]);
+                        tasks.add(new SearchTask(branch, k - 1, this, caller()));
+                    }
+                }
+            }
+
+            Optional<Graph<T>> result = firstSuccess(tasks);
+            if (result != null && !result.isPresent()) setNonSolvable(g, k, System.nanoTime() - start);
+            return result;
+        }
     }
 }
@@ -0,0 +1,133 @@
+package minfill;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Solves independent subproblems, e.g. the components and atoms of a graph, largest first on a shared pool of worker
+ * threads, and merges their results.
+ * Solving a subproblem may split it again and submit the pieces to the same pool. A thread waiting for its pieces
+ * first runs those no worker has started, so every piece waited for is running on some thread and waiting never ties
+ * up the pool. Interrupting the waiting thread cancels the pieces, interrupting the workers solving them, and once
+ * the thread is interrupted or a piece has failed it starts no more pieces itself.
+ */
+public class SubproblemScheduler {
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    /**
+     * @param parallelism The maximum number of subproblems solved at once, counting the thread that submits them.
+     */
+    public SubproblemScheduler(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism");
+        this.parallelism = parallelism;
+        this.workers = parallelism > 1 ? Executors.newFixedThreadPool(parallelism - 1, runnable -> {
+            Thread thread = new Thread(runnable, "minfill-subproblem");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    @Contract(pure = true)
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Lets the workers exit once the subproblems they are solving are done. No more may be submitted.
+     */
+    public void shutdown() {
+        if (workers != null) workers.shutdown();
+    }
+
+    /**
+     * @param size Orders the subproblems, largest first.
+     * @return The results of solver on every subproblem, merged into identity.
+     * @throws CancellationException If this thread is interrupted.
+     */
+    public <S, R> R solveAll(Iterable<S> subproblems, ToIntFunction<S> size, Function<S, R> solver, R identity, BinaryOperator<R> merge) {
+        List<S> ordered = new ArrayList<>();
+        for (S subproblem : subproblems) {
+            ordered.add(subproblem);
+        }
+        ordered.sort(Comparator.comparingInt(size).reversed());
+
+        R result = identity;
+        if (workers == null || ordered.size() < 2) {
+            for (S subproblem : ordered) {
+                result = merge.apply(result, solver.apply(subproblem));
+            }
+            return result;
+        }
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<FutureTask<R>> tasks = new ArrayList<>(ordered.size());
+        for (S subproblem : ordered) {
+            FutureTask<R> task = new Subproblem<>(() -> solver.apply(subproblem), failed);
+            tasks.add(task);
+            workers.execute(task);
+        }
+
+        try {
+            for (FutureTask<R> task : tasks) {
+                if (Thread.currentThread().isInterrupted()) throw new CancellationException();
+                if (failed.get()) break; // Its failure is thrown below.
+                task.run(); // Does nothing if a worker has started it.
+            }
+            // Finished tasks first, so a failure, e.g. a cancellation of one run here, is seen without waiting.
+            List<R> results = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i).isDone()) results.set(i, tasks.get(i).get());
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (results.get(i) == null) results.set(i, tasks.get(i).get());
+                result = merge.apply(result, results.get(i));
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            for (FutureTask<R> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Task that flags failed when it fails, as FutureTask.run swallows the exception, e.g. the CancellationException
+     * of a task interrupted on the waiting thread.
+     */
+    private static class Subproblem<R> extends FutureTask<R> {
+        private final AtomicBoolean failed;
+
+        private Subproblem(Callable<R> callable, AtomicBoolean failed) {
+            super(callable);
+            this.failed = failed;
+        }
+
+        @Override
+        protected void setException(Throwable t) {
+            failed.set(true);
+            super.setException(t);
+        }
+    }
+}
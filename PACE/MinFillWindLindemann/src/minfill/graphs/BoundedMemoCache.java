@@ -0,0 +1,194 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * MemoCache keeping the estimated weight of its entries below a ceiling. Entries are ordered by a priority, and the
+ * entry of least priority is evicted until a new entry fits. Under LRU the priority is the time of the last access.
+ * Under COST it is the GreedyDual priority: the cost of the entry plus the priority of the last evicted entry, set
+ * on every access, so expensive entries are kept longest, but an entry is evicted once enough cheaper ones have been
+ * evicted after its last use. Entries are keyed on the fingerprint, and chained as in FingerprintTable.
+ * <p>
+ * The entries are striped over segments by fingerprint, each with its own lock, clock and share of the ceiling, so
+ * workers only contend when they touch the same segment, and eviction is exact within a segment only. A hit just
+ * updates the priority of its entry; the order is repaired lazily when a stale entry comes up for eviction.
+ */
+class BoundedMemoCache<T extends Comparable<T>, V> implements MemoCache<T, V> {
+    // Every segment gets at least this much of the ceiling, so small caches stay a single exact segment.
+    private static final long minSegmentCeiling = 1 << 20;
+    private static final int maxSegments = 64;
+
+    private final Segment<T, V>[] segments;
+    private final ToLongFunction<V> valueWeight;
+    private final MemoStatistics statistics;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    BoundedMemoCache(Policy policy, long ceiling, ToLongFunction<V> valueWeight, MemoStatistics statistics) {
+        assert policy != Policy.UNBOUNDED;
+        this.valueWeight = valueWeight;
+        this.statistics = statistics;
+
+        int count = Integer.highestOneBit((int) Math.max(1, Math.min(maxSegments, ceiling / minSegmentCeiling)));
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(policy, ceiling / count, statistics);
+        }
+    }
+
+    @Override
+    public V get(long fingerprint, Predicate<Graph<T>> matches) {
+        return segment(fingerprint).get(fingerprint, matches);
+    }
+
+    @Override
+    public void merge(Graph<T> g, V value, long cost, BinaryOperator<V> merge) {
+        segment(g.fingerprint()).merge(g, value, cost, MemoCache.weight(g), valueWeight, merge);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int size() {
+        int size = 0;
+        for (Segment<T, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Contract(pure = true)
+    public long weight() {
+        long weight = 0;
+        for (Segment<T, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public MemoStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Segment<T, V> segment(long fingerprint) {
+        // The high half, as the maps within a segment hash on the low one.
+        return segments[(int) (fingerprint >>> 32) & (segments.length - 1)];
+    }
+
+    private static class Segment<T extends Comparable<T>, V> {
+        private final Policy policy;
+        private final long ceiling;
+        private final MemoStatistics statistics;
+
+        private final Map<Long, Entry<T, V>> entries = new HashMap<>();
+        private final TreeSet<Entry<T, V>> byPriority = new TreeSet<>(
+                Comparator.<Entry<T, V>>comparingLong(e -> e.queued).thenComparingLong(e -> e.id));
+        private long weight, clock, ids;
+        private int size;
+
+        private Segment(Policy policy, long ceiling, MemoStatistics statistics) {
+            this.policy = policy;
+            this.ceiling = ceiling;
+            this.statistics = statistics;
+        }
+
+        private synchronized V get(long fingerprint, Predicate<Graph<T>> matches) {
+            for (Entry<T, V> entry = entries.get(fingerprint); entry != null; entry = entry.next) {
+                if (matches.test(entry.graph)) {
+                    statistics.hit();
+                    entry.priority = priority(entry.cost);
+                    return entry.value;
+                }
+            }
+            statistics.miss();
+            return null;
+        }
+
+        private synchronized void merge(Graph<T> g, V value, long cost, long graphWeight, ToLongFunction<V> valueWeight, BinaryOperator<V> merge) {
+            long fingerprint = g.fingerprint();
+            Entry<T, V> old = entries.get(fingerprint);
+            while (old != null && old.graph != g && !old.graph.equals(g)) old = old.next;
+            if (old != null) {
+                remove(old);
+                value = merge.apply(old.value, value);
+            }
+
+            long entryWeight = graphWeight + valueWeight.applyAsLong(value);
+            if (entryWeight > ceiling) return;
+
+            while (weight + entryWeight > ceiling) {
+                Entry<T, V> victim = byPriority.pollFirst();
+                if (victim.queued != victim.priority) { // Used since it was queued.
+                    victim.queued = victim.priority;
+                    byPriority.add(victim);
+                    continue;
+                }
+                remove(victim);
+                if (policy == Policy.COST) clock = victim.priority;
+                statistics.evicted();
+            }
+
+            Entry<T, V> entry = new Entry<>(g, value, cost, entryWeight, priority(cost), ids++);
+            entry.next = entries.put(fingerprint, entry);
+            byPriority.add(entry);
+            weight += entryWeight;
+            size++;
+        }
+
+        /**
+         * Unlinks entry from its chain, and from byPriority unless it was just polled from it.
+         */
+        private void remove(Entry<T, V> entry) {
+            long fingerprint = entry.graph.fingerprint();
+            Entry<T, V> head = entries.get(fingerprint);
+            if (head == entry) {
+                if (entry.next == null) entries.remove(fingerprint);
+                else entries.put(fingerprint, entry.next);
+            } else {
+                while (head.next != entry) head = head.next;
+                head.next = entry.next;
+            }
+            byPriority.remove(entry);
+            weight -= entry.weight;
+            size--;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized long weight() {
+            return weight;
+        }
+
+        private long priority(long cost) {
+            return policy == Policy.LRU ? clock++ : clock + cost;
+        }
+    }
+
+    private static class Entry<T extends Comparable<T>, V> {
+        private final Graph<T> graph;
+        private final V value;
+        private final long cost, weight, id;
+        // The priority is set on every access, queued is the one byPriority is ordered by, at most the priority.
+        private long priority, queued;
+        private Entry<T, V> next; // With the same fingerprint.
+
+        private Entry(Graph<T> graph, V value, long cost, long weight, long priority, long id) {
+            this.graph = graph;
+            this.value = value;
+            this.cost = cost;
+            this.weight = weight;
+            this.priority = this.queued = priority;
+            this.id = id;
+        }
+    }
+}
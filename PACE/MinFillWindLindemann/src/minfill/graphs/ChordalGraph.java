@@ -7,13 +7,16 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ChordalGraph<T extends Comparable<T>> extends Graph<T> {
+    // In a chordal graph, the minimal separators are the sets of earlier numbered neighbors of the vertices at which
+    // the label of maximum cardinality search does not grow. The empty set, where a new component starts, is not one.
+    @Override
     @Contract(pure = true) // Kumar, Madhavan page 10(164)
-    default Set<Set<T>> minimalSeparators() { // todo might not work.
+    default Set<Set<T>> minimalSeparators() {
         List<T> peo = maximumCardinalitySearch();
         Set<Set<T>> separators = Set.empty();
         for (int i = 0; i < peo.size()-1; i++) {
             Set<T> separator = mAdj(peo, i);
-            if(separator.size() <= mAdj(peo, i+1).size()){
+            if(!separator.isEmpty() && separator.size() <= mAdj(peo, i+1).size()){
                 separators = separators.add(separator);
             }
         }
@@ -0,0 +1,241 @@
+package minfill.graphs;
+
+import minfill.tuples.Triple;
+import minfill.tuples.Tuple;
+import org.jetbrains.annotations.Contract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Result of the Tarjan-Yannakakis chordality test: an MCS ordering is checked in one pass using follower pointers,
+ * where the follower of v is its earliest neighbor after it in the ordering. The ordering is a perfect elimination
+ * ordering iff every later neighbor w of v is adjacent to the follower of v.
+ * On success the ordering is kept as a perfect elimination ordering, otherwise the first violating triple is kept.
+ */
+public class ChordalityCertificate<T extends Comparable<T>> {
+    private final IntGraph<T> graph;
+    private final int[] order, position;
+    private int vertex = -1, follower = -1, neighbor = -1;
+
+    public ChordalityCertificate(IntGraph<T> graph) {
+        this(graph, graph.maximumCardinalitySearch());
+    }
+
+    /**
+     * @param order Candidate perfect elimination ordering, order[0] is eliminated first.
+     */
+    public ChordalityCertificate(IntGraph<T> graph, int[] order) {
+        this.graph = graph;
+        this.order = order;
+
+        int n = graph.size();
+        position = new int[n];
+        int[] follow = new int[n], index = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        for (int i = 0; i < n; i++) {
+            int w = order[i];
+            follow[w] = w;
+            index[w] = i;
+
+            for (int v : graph.neighbors(w)) {
+                if (position[v] < i) {
+                    index[v] = i;
+                    if (follow[v] == v) follow[v] = w;
+                }
+            }
+            for (int v : graph.neighbors(w)) {
+                if (position[v] < i && index[follow[v]] < i) {
+                    vertex = v;
+                    follower = follow[v];
+                    neighbor = w;
+                    return;
+                }
+            }
+        }
+    }
+
+    @Contract(pure = true)
+    public boolean isChordal() {
+        return vertex < 0;
+    }
+
+    @Contract(pure = true)
+    public IntGraph<T> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return The tested ordering as ids. A perfect elimination ordering if the graph is chordal. Must not be modified.
+     */
+    @Contract(pure = true)
+    public int[] order() {
+        return order;
+    }
+
+    @Contract(pure = true)
+    public Optional<List<T>> perfectEliminationOrdering() {
+        if (!isChordal()) return Optional.empty();
+        return Optional.of(graph.toVertices(order));
+    }
+
+    /**
+     * @return (v, f, w) where f and w are neighbors of v ordered after it, f is the follower of v, and f and w are
+     * not adjacent. Empty if the graph is chordal.
+     */
+    @Contract(pure = true)
+    public Optional<Triple<T, T, T>> violation() {
+        if (isChordal()) return Optional.empty();
+        return Optional.of(Tuple.of(graph.vertex(vertex), graph.vertex(follower), graph.vertex(neighbor)));
+    }
+
+    /**
+     * @return A chordless cycle of length at least 4, in cycle order, found in O(n+m). Empty if the graph is chordal.
+     */
+    @Contract(pure = true)
+    public Optional<List<T>> chordlessCycle() {
+        if (isChordal()) return Optional.empty();
+        return Optional.of(graph.toVertices(chordlessCycleIds()));
+    }
+
+    /**
+     * Requires the ordering to be an MCS ordering, as the one of the IntGraph constructor.
+     * Let v be the first vertex numbered by MCS whose later neighbors madj(v) are not a clique, and L the vertices
+     * numbered before it. Then G[L] is chordal, while G[L + v] is not as MCS ordered it without finding a perfect
+     * elimination ordering, so every chordless cycle of G[L + v] goes through v. Such a cycle leaves v through two
+     * non-adjacent a, b in N(v) and returns through a component C of G[L] - N(v) having both in its neighborhood,
+     * so some C has a non-clique neighborhood, and v, a, a shortest a,b-path through C, b is a chordless cycle.
+     * v is found with the test of Rose, Tarjan and Lueker: madj(v) is a clique iff madj(v) - p is a subset of N(p),
+     * where p is the vertex of madj(v) eliminated first, provided this holds for every later vertex.
+     * The same test on the chordal G[L] finds two non-adjacent neighbors of C.
+     * @return The cycle as ids.
+     */
+    @Contract(pure = true)
+    public int[] chordlessCycleIds() {
+        if (isChordal()) return new int[0];
+        int n = graph.size();
+
+        // parent[u] = the neighbor of u eliminated first among those after it.
+        int[] parent = new int[n], children = new int[n], sibling = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(children, -1);
+        for (int u = 0; u < n; u++) {
+            for (int w : graph.neighbors(u)) {
+                if (position[w] > position[u] && (parent[u] < 0 || position[w] < position[parent[u]])) parent[u] = w;
+            }
+            if (parent[u] >= 0) {
+                sibling[u] = children[parent[u]];
+                children[parent[u]] = u;
+            }
+        }
+
+        // Test every u against N(parent[u]) with the children of each parent grouped, keeping the latest failure.
+        int[] mark = new int[n];
+        int v = -1;
+        for (int p = 0; p < n; p++) {
+            if (children[p] < 0) continue;
+            for (int w : graph.neighbors(p)) {
+                mark[w] = p + 1;
+            }
+            for (int u = children[p]; u >= 0; u = sibling[u]) {
+                if (v >= 0 && position[u] < position[v]) continue;
+                for (int w : graph.neighbors(u)) {
+                    if (w != p && position[w] > position[u] && mark[w] != p + 1) {
+                        v = u;
+                        break;
+                    }
+                }
+            }
+        }
+        if (v < 0) throw new IllegalStateException("Not an MCS ordering");
+
+        // Components of G[L] - N(v), each with its neighborhood in G[L], which lies in N(v).
+        int[] component = new int[n], adjacent = new int[n], stack = new int[n], boundary = new int[n];
+        int[] predecessor = new int[n];
+        Arrays.fill(mark, 0);
+        for (int w : graph.neighbors(v)) {
+            mark[w] = -1;
+        }
+        for (int c = 0, start = 0; start < n; start++) {
+            if (position[start] <= position[v] || mark[start] == -1 || component[start] != 0) continue;
+            c++;
+
+            int size = 0, boundarySize = 0, first = -1;
+            component[start] = c;
+            stack[size++] = start;
+            while (size > 0) {
+                int x = stack[--size];
+                for (int w : graph.neighbors(x)) {
+                    if (position[w] <= position[v] || component[w] == c) continue;
+                    component[w] = c;
+                    if (mark[w] == -1) {
+                        boundary[boundarySize++] = w;
+                        if (first < 0 || position[w] < position[first]) first = w;
+                    } else {
+                        stack[size++] = w;
+                    }
+                }
+            }
+            // component[] of a boundary vertex only tells it has been added to the boundary of that component.
+
+            if (first < 0) continue;
+            int a = first, b = -1;
+            for (int w : graph.neighbors(a)) {
+                adjacent[w] = c;
+            }
+            for (int i = 0; i < boundarySize && b < 0; i++) {
+                if (boundary[i] != a && adjacent[boundary[i]] != c) b = boundary[i];
+            }
+            if (b < 0) continue;
+
+            // Shortest a,b-path with its interior in the component.
+            Arrays.fill(predecessor, -1);
+            int head = 0, tail = 0;
+            stack[tail++] = a;
+            predecessor[a] = a;
+            while (predecessor[b] < 0) {
+                int x = stack[head++];
+                for (int w : graph.neighbors(x)) {
+                    if (predecessor[w] >= 0) continue;
+                    if (w == b || component[w] == c && mark[w] != -1) {
+                        predecessor[w] = x;
+                        if (w != b) stack[tail++] = w;
+                    }
+                }
+            }
+
+            List<Integer> cycle = new ArrayList<>();
+            cycle.add(v);
+            for (int x = b; x != a; x = predecessor[x]) {
+                cycle.add(x);
+            }
+            cycle.add(a);
+            int[] result = new int[cycle.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = cycle.get(i);
+            }
+            return result;
+        }
+        throw new IllegalStateException("Not an MCS ordering");
+    }
+
+    @Contract(pure = true)
+    public int violatingVertex() {
+        return vertex;
+    }
+
+    @Contract(pure = true)
+    public int violatingFollower() {
+        return follower;
+    }
+
+    @Contract(pure = true)
+    public int violatingNeighbor() {
+        return neighbor;
+    }
+}
@@ -0,0 +1,51 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Zobrist style 64-bit fingerprints of graphs. Every vertex and every edge is given a pseudo random key, and the
+ * fingerprint of a graph is the xor of the keys of its vertices and edges. Adding or removing an edge therefore
+ * changes the fingerprint by xor'ing a single key, which lets derived graphs update the fingerprint of the graph
+ * they were derived from instead of hashing every neighborhood again.
+ */
+public final class Fingerprint {
+    private Fingerprint() {}
+
+    @Contract(pure = true)
+    public static long vertex(Object vertex) {
+        return mix(vertex.hashCode() + 0x9e3779b97f4a7c15L); // offset, so hash code 0 does not get key 0
+    }
+
+    @Contract(pure = true)
+    public static long edge(Object a, Object b) {
+        return mix(vertex(a) + vertex(b)); // symmetric, so ab and ba get the same key
+    }
+
+    @Contract(pure = true)
+    public static <T extends Comparable<T>> long edge(Edge<T> e) {
+        return edge(e.from, e.to);
+    }
+
+    /**
+     * @return The fingerprint of g computed from scratch in O(n+m).
+     */
+    @Contract(pure = true)
+    public static <T extends Comparable<T>> long of(Graph<T> g) {
+        long fingerprint = 0;
+        for (T vertex : g.getVertices()) {
+            fingerprint ^= vertex(vertex);
+            for (T neighbor : g.neighborhood(vertex)) {
+                if (vertex.compareTo(neighbor) < 0) fingerprint ^= edge(vertex, neighbor);
+            }
+        }
+        return fingerprint;
+    }
+
+    // The finalizer of SplitMix64.
+    @Contract(pure = true)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,92 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Unbounded MemoCache keyed on the 64-bit fingerprint of the graph. Graphs are compared in full only when the
+ * fingerprints match, to rule out collisions, so a miss never walks a neighborhood. Graphs with the same fingerprint
+ * are chained.
+ */
+public class FingerprintTable<T extends Comparable<T>, V> implements MemoCache<T, V> {
+    private final ConcurrentHashMap<Long, Entry<T, V>> table = new ConcurrentHashMap<>();
+    private final MemoStatistics statistics;
+
+    public FingerprintTable() {
+        this(new MemoStatistics());
+    }
+
+    public FingerprintTable(MemoStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public V get(long fingerprint, Predicate<Graph<T>> matches) {
+        for (Entry<T, V> entry = table.get(fingerprint); entry != null; entry = entry.next) {
+            if (matches.test(entry.graph)) {
+                statistics.hit();
+                return entry.value;
+            }
+        }
+        statistics.miss();
+        return null;
+    }
+
+    public void put(Graph<T> g, V value) {
+        table.compute(g.fingerprint(), (fingerprint, head) -> new Entry<>(g, value, without(head, g)));
+    }
+
+    @Override
+    public void put(Graph<T> g, V value, long cost) {
+        put(g, value);
+    }
+
+    @Override
+    public void merge(Graph<T> g, V value, long cost, BinaryOperator<V> merge) {
+        table.compute(g.fingerprint(), (fingerprint, head) -> {
+            for (Entry<T, V> entry = head; entry != null; entry = entry.next) {
+                if (entry.graph.equals(g)) return new Entry<>(g, merge.apply(entry.value, value), without(head, g));
+            }
+            return new Entry<>(g, value, head);
+        });
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int size() {
+        int size = 0;
+        for (Entry<T, V> head : table.values()) {
+            for (Entry<T, V> entry = head; entry != null; entry = entry.next) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public MemoStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static <T extends Comparable<T>, V> Entry<T, V> without(Entry<T, V> entry, Graph<T> g) {
+        if (entry == null) return null;
+        if (entry.graph.equals(g)) return entry.next;
+        return new Entry<>(entry.graph, entry.value, without(entry.next, g));
+    }
+
+    private static class Entry<T extends Comparable<T>, V> {
+        private final Graph<T> graph;
+        private final V value;
+        private final Entry<T, V> next;
+
+        private Entry(Graph<T> graph, V value, Entry<T, V> next) {
+            this.graph = graph;
+            this.value = value;
+            this.next = next;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package minfill.graphs;
 
 import minfill.iterators.PairIterable;
 import minfill.sets.Set;
+import minfill.sets.Universe;
 import minfill.tuples.Pair;
 import minfill.tuples.Tuple;
 import org.jetbrains.annotations.Contract;
@@ -60,90 +61,53 @@ public interface Graph<T extends Comparable<T>> {
         return false;
     }
 
+    /**
+     * @return This graph with the vertices numbered, for the algorithms working on int ids.
+     */
     @Contract(pure = true)
-    default List<T> maximumCardinalitySearch() {
-        List<T> order = new ArrayList<>(getVertices().size());
-        java.util.Set<T> numbered = new HashSet<>(getVertices().size());
-        Map<T, Integer> weightMap = new HashMap<>();
-        for (T vertex : getVertices()) {
-            weightMap.put(vertex, 0);
-            order.add(vertex);
-        }
-        for (int i = getVertices().size()-1; i >= 0 ; i--) {
-            T z = unNumberedMaximumWeightVertex(weightMap, numbered);
-            order.set(i, z);
-            numbered.add(z);
-            for (T neighbour : neighborhood(z)) {
-                if (!numbered.contains(neighbour)) {
-                    weightMap.put(neighbour, weightMap.get(neighbour) + 1);
-                }
-            }
-        }
-        return order;
+    default IntGraph<T> toIntGraph() {
+        return new IntGraph<>(this);
     }
 
     @Contract(pure = true)
-    default T unNumberedMaximumWeightVertex(Map<T, Integer> weightMap, java.util.Set<T> numbered) {
-        T key = null;
-        Integer value = Integer.MIN_VALUE;
-
-        for (Map.Entry<T, Integer> entry : weightMap.entrySet()) {
-            if (!numbered.contains(entry.getKey()) && entry.getValue().compareTo(value) > 0) {
-                key = entry.getKey();
-                value = entry.getValue();
-            }
-        }
-
-        return key;
+    default List<T> maximumCardinalitySearch() {
+        IntGraph<T> graph = toIntGraph();
+        return graph.toVertices(graph.maximumCardinalitySearch());
     }
 
     @Contract(pure = true) // berry page 5
     default Pair<List<T>, Set<Edge<T>>> maximumCardinalitySearchM() {
-        List<T> order = new ArrayList<>(getVertices().size());
-        java.util.Set<T> numbered = new HashSet<>(getVertices().size());
-        Map<T, Integer> weightMap = new HashMap<>();
-        Set<Edge<T>> F = Set.empty();
-        for (T vertex : getVertices()) {
-            weightMap.put(vertex,0);
-            order.add(vertex);
+        IntGraph<T> graph = toIntGraph();
+        Pair<int[], int[][]> result = graph.maximumCardinalitySearchM();
+
+        java.util.Set<Edge<T>> fill = new HashSet<>();
+        for (int[] edge : result.b) {
+            fill.add(new Edge<>(graph.vertex(edge[0]), graph.vertex(edge[1])));
         }
-        for (int i = getVertices().size()-1; i >= 0 ; i--) {
-            Map<T, Integer> weightCopy = new HashMap<>(weightMap);
-
-            T z = unNumberedMaximumWeightVertex(weightMap, numbered);
-            order.set(i, z);
-            numbered.add(z);
-            for (T y : getVertices()) {
-                if(!numbered.contains(y)){
-                    Integer yWeight = weightCopy.get(y);
-                    Set<T> possibleGraph = Set.of(z,y);
-
-                    for (T Xi : getVertices()) {
-                        if(!numbered.contains(Xi) && weightCopy.get(Xi) < yWeight){ // w{z-}(xi) < w_{z-}(y) so maybe wrong maybe we need a path of increasing weight or something
-                            possibleGraph = possibleGraph.add(Xi);
-                        }
-                    }
+        return Tuple.of(graph.toVertices(result.a), Set.of(fill));
+    }
 
-                    if(inducedBy(possibleGraph).hasPath(y,z)){
-                        weightMap.put(y, weightMap.get(y)+1);
-                        F = F.add(new Edge<>(z,y));
-                    }
-                }
-            }
+    /**
+     * @return The atoms of the decomposition by clique minimal separators. See IntGraph.atoms.
+     */
+    @Contract(pure = true)
+    default Set<Set<T>> atoms() {
+        IntGraph<T> graph = toIntGraph();
+        java.util.Set<Set<T>> atoms = new HashSet<>();
+        for (int[] atom : graph.atoms()) {
+            atoms.add(Set.of(graph.toVertices(atom)));
         }
-        return Tuple.of(order, F);
+        return Set.of(atoms);
     }
 
     @Contract(pure = true)
-    default boolean isChordal() {
-        List<T> order = maximumCardinalitySearch();
+    default ChordalityCertificate<T> chordalityCertificate() {
+        return new ChordalityCertificate<>(toIntGraph());
+    }
 
-        for (int i = 0; i < order.size(); i++) {
-            Set<T> mAdj = mAdj(order, i);
-            if (!isClique(mAdj))
-                return false;
-        }
-        return true;
+    @Contract(pure = true)
+    default boolean isChordal() {
+        return chordalityCertificate().isChordal();
     }
 
     @Contract(pure = true)
@@ -151,31 +115,18 @@ public interface Graph<T extends Comparable<T>> {
         return isClique(getVertices());
     }
 
+    /**
+     * Callers testing many sets of the same graph should reuse a PotentialMaximalCliqueChecker.
+     */
     @Contract(pure = true)
     default boolean isPotentialMaximalClique(Set<T> k){
-        Graph<T> gk = inducedBy(getVertices().minus(k));
-        java.util.Set<Set<T>> s = new HashSet<>();
-        for (Set<T> component : gk.components()) {
-            Set<T> sI = neighborhood(component).intersect(k);
-            if(!sI.isProperSubsetOf(k)){
-                return false;
-            }
-            s.add(sI);
-        }
-        Graph<T> cliqueChecker = this;
-        for (Set<T> sI : s) {
-            Set<Edge<T>> fillEdges = cliqueChecker.cliqueify(sI);
-            cliqueChecker = cliqueChecker.addEdges(fillEdges);
-        }
-        return cliqueChecker.inducedBy(k).isClique();
+        return new PotentialMaximalCliqueChecker<>(this).isPotentialMaximalClique(k);
     }
 
     @Contract(pure = true)
     default boolean isVitalPotentialMaximalClique(Set<T> vertices, int k) {
         if (!vertices.isSubsetOf(getVertices())) throw new IllegalArgumentException("Unknown vertex");
-        return k >= 0 &&
-                inducedBy(vertices).getNumberOfNonEdges() <= k &&
-                isPotentialMaximalClique(vertices);
+        return new PotentialMaximalCliqueChecker<>(this).isVitalPotentialMaximalClique(vertices, k);
     }
 
     @Contract(pure = true)
@@ -291,6 +242,17 @@ public interface Graph<T extends Comparable<T>> {
         return Set.of(edges);
     }
 
+    @Contract(pure = true)
+    default int getNumberOfEdges() {
+        int degrees = 0;
+        for (T vertex : getVertices()) {
+            for (T ignored : neighborhood(vertex)) {
+                degrees++;
+            }
+        }
+        return degrees / 2;
+    }
+
     default int getNumberOfNonEdges() {
         int number = 0;
         PairIterable<T> vertexPairs = new PairIterable<>(getVertices());
@@ -333,6 +295,60 @@ public interface Graph<T extends Comparable<T>> {
         return Set.of(fill);
     }
 
+    /**
+     * @return A numbering of the vertices, for the packed edge sets of getEdges(universe) and the like.
+     */
+    @Contract(pure = true)
+    default Universe<T> getUniverse() {
+        return Universe.sorted(getVertices());
+    }
+
+    /**
+     * @param universe Numbering of the vertices, e.g. getUniverse().
+     */
+    @Contract(pure = true)
+    default PackedEdgeSet getEdges(Universe<T> universe) {
+        PackedEdgeSet edges = new PackedEdgeSet();
+        for (T vertex : getVertices()) {
+            int from = universe.indexOf(vertex);
+            for (T neighbor : neighborhood(vertex)) {
+                int to = universe.indexOf(neighbor);
+                if (from < to) edges.add(from, to);
+            }
+        }
+        return edges;
+    }
+
+    @Contract(pure = true)
+    default PackedEdgeSet getNonEdges(Universe<T> universe) {
+        return cliqueify(getVertices(), universe);
+    }
+
+    @Contract(pure = true)
+    default PackedEdgeSet cliqueify(Set<T> vertices, Universe<T> universe) {
+        assert vertices.isSubsetOf(getVertices());
+
+        List<T> list = new ArrayList<>();
+        for (T vertex : vertices) {
+            list.add(vertex);
+        }
+
+        PackedEdgeSet fill = new PackedEdgeSet();
+        for (int i = 0; i < list.size(); i++) {
+            for (int j = i + 1; j < list.size(); j++) {
+                if (!isAdjacent(list.get(i), list.get(j))) {
+                    fill.add(universe.indexOf(list.get(i)), universe.indexOf(list.get(j)));
+                }
+            }
+        }
+        return fill;
+    }
+
+    @Contract(pure = true)
+    default Graph<T> addEdges(PackedEdgeSet edges, Universe<T> universe) {
+        return edges.isEmpty() ? this : addEdges(edges.toEdges(universe));
+    }
+
     @Contract(pure = true)
     default boolean isClique(Set<T> vertices) {
         assert vertices.isSubsetOf(getVertices());
@@ -346,41 +362,12 @@ public interface Graph<T extends Comparable<T>> {
     }
 
     default Optional<List<T>> findChordlessCycle() {
-        for (Set<T> component : components()) {
-            List<T> order = inducedBy(component).maximumCardinalitySearch();
-
-            for (int i = 0; i < order.size(); i++) {
-                Set<T> madj = mAdj(order, i);
-                List<T> madjList = new ArrayList<>();
-                for (T vertex : madj) {
-                    madjList.add(vertex);
-                }
-                if (!isClique(madj)) {
-                    // Cycle identified
-                    for (int j = 0; j < madjList.size()-1; j++) {
-                        T v = madjList.get(j);
-                        for (int k = j+1; k < madjList.size(); k++) {
-                            T w = madjList.get(k);
-
-                            Set<T> toRemove = madj.minus(Set.of(v, w)).add(order.get(i));
-
-                            Graph<T> gPrime = inducedBy(getVertices().minus(toRemove));
-
-                            if (!gPrime.isAdjacent(v, w) && gPrime.hasPath(v, w)) {
-                                List<T> path = gPrime.shortestPath(v, w);
-                                path.add(order.get(i));
+        Optional<List<T>> cycle = chordalityCertificate().chordlessCycle();
 
-                                assert path.size() >= 4;
-                                assert !inducedBy(Set.of(path)).isChordal();
+        assert !cycle.isPresent() || cycle.get().size() >= 4;
+        assert !cycle.isPresent() || !inducedBy(Set.of(cycle.get())).isChordal();
 
-                                return Optional.of(path);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return Optional.empty();
+        return cycle;
     }
 
     default Set<List<T>> findChordlessCycles() {
@@ -446,74 +433,41 @@ public interface Graph<T extends Comparable<T>> {
         return Optional.empty();
     }
 
-    default Set<Set<T>> minimalSeparators(T a, T b){
-        Set<T> Na = neighborhood(a).toSet();
-        Set<T> Cb = inducedBy(getVertices().minus(Na)).componentWithB(b).get();
-
-        Map<Integer, Set<Set<T>>> lk = new HashMap<>();
-        lk.put(0, Set.of(Na.minus(isolatedSet(Cb, Na))));
-
-        int k = 0;
-
-        while(k <= getVertices().size()-3 && !Cb.isEmpty() && lk.containsKey(k)){
-            for (Set<T> s : lk.get(k)) {
-                for (T x : s.minus(neighborhood(b).toSet())) {
-                    Set<T> nPlus = nPlus(x, lk.get(k));
-                    Set<T> s_nPlus = s.union(nPlus);
-                    Cb =  inducedBy(getVertices().minus(s_nPlus)).componentWithB(b).get();
-                    // Compute the connected component Cb of graph G[V - (SUN+(x))]
-                    if(!Cb.isEmpty()){
-                        Set<T> sPrime = s_nPlus.minus(isolatedSet(Cb, s_nPlus));
-                        boolean alreadyAdded = false;
-                        for (Set<Set<T>> sets : lk.values()) {
-                            if(sets.contains(sPrime)){
-                                alreadyAdded = true;
-                            }
-                        }
-                        if(!alreadyAdded){
-                            if(lk.containsKey(k+1))
-                                lk.put(k+1, lk.get(k+1).add(sPrime));
-                            else
-                                lk.put(k+1, Set.of(sPrime));
-                            break;
-                        }
-                    }
-                }
+    /**
+     * @return The minimal separators S such that a and b are in different full components of G-S.
+     */
+    @Contract(pure = true)
+    default Set<Set<T>> minimalSeparators(T a, T b) {
+        java.util.Set<Set<T>> separators = new HashSet<>();
+        for (Set<T> separator : new MinimalSeparators<>(this)) {
+            if (separator.contains(a) || separator.contains(b)) continue;
+            Set<Set<T>> full = fullComponents(separator);
+            boolean separatesA = false, separatesB = false;
+            for (Set<T> component : full) {
+                if (component.contains(a) && component.contains(b)) break;
+                separatesA |= component.contains(a);
+                separatesB |= component.contains(b);
             }
-            k++;
+            if (separatesA && separatesB) separators.add(separator);
         }
-        Set<Set<T>> separators = Set.empty();
-        for (Set<Set<T>> sets : lk.values()) {
-            separators = separators.union(sets);
-        }
-        return separators;
+        return Set.of(separators);
     }
+
+    /**
+     * @return The minimal separators, i.e. the non-empty sets S with at least two full components in G-S. See
+     * MinimalSeparators to enumerate them lazily.
+     */
+    @Contract(pure = true)
     default Set<Set<T>> minimalSeparators() {
-        Map<Integer, Set<Set<T>>> Tk = new HashMap<>();
-        Set<Set<T>> T = Set.empty();
-        int c = 0;
-        for (Pair<T, T> vertexPair : new PairIterable<>(getVertices())) {
-            if(!isAdjacent(vertexPair.a, vertexPair.b))
-            {
-                Tk.put(c, minimalSeparators(vertexPair.a, vertexPair.b));
-                c++;
-                Tk.put(c, minimalSeparators(vertexPair.b, vertexPair.a));
-                c++;
-            }
-        }
-        for (int i = 0; i < Math.log(c)-1; i++) {
-            int prime = (int)(c/(Math.pow(2,i)+1));
-            for (int j = 0; j < prime-1; j++) {
-                Tk.put(j, Tk.get(j).union(Tk.get(j+prime)));
-            }
-            T = Tk.get(0); // makes very little sense to me.
-        }
-        Set<Set<T>> separators = Set.empty();
-        for (Set<Set<T>> sets : Tk.values()) {
-            separators = separators.union(sets);
-        }
-        //return separators;
-        return T;
+        return new MinimalSeparators<>(this).toSet();
+    }
+
+    /**
+     * @return A 64-bit fingerprint, equal for equal graphs. See Fingerprint.
+     */
+    @Contract(pure = true)
+    default long fingerprint() {
+        return Fingerprint.of(this);
     }
 
     @Override
@@ -0,0 +1,302 @@
+package minfill.graphs;
+
+import minfill.tuples.Pair;
+import minfill.tuples.Tuple;
+import org.jetbrains.annotations.Contract;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a graph with the vertices numbered 0..size()-1 and every neighborhood as an int array.
+ * Used by the linear time algorithms (MCS, chordality test, MCS-M) which need to walk adjacency lists.
+ * See MutableIntGraph for a version allowing vertices to be deleted.
+ */
+public class IntGraph<T extends Comparable<T>> {
+    private final List<T> vertices;
+    private final Map<T, Integer> ids;
+    protected final int[][] adjacency;
+
+    public IntGraph(Graph<T> g) {
+        int n = g.getVertices().size();
+        vertices = new ArrayList<>(n);
+        ids = new HashMap<>(2 * n);
+        adjacency = new int[n][];
+
+        for (T vertex : g.getVertices()) {
+            ids.put(vertex, vertices.size());
+            vertices.add(vertex);
+        }
+
+        int[] buffer = new int[n];
+        for (int id = 0; id < n; id++) {
+            int degree = 0;
+            for (T neighbor : g.neighborhood(vertices.get(id))) {
+                buffer[degree++] = ids.get(neighbor);
+            }
+            adjacency[id] = Arrays.copyOf(buffer, degree);
+        }
+    }
+
+    /**
+     * Copy of other sharing its vertex numbering and its neighborhood arrays, so a subclass changing a neighborhood
+     * must replace its array instead of writing to it.
+     */
+    protected IntGraph(IntGraph<T> other) {
+        vertices = other.vertices;
+        ids = other.ids;
+        adjacency = other.adjacency.clone();
+    }
+
+    @Contract(pure = true)
+    public int size() {
+        return vertices.size();
+    }
+
+    @Contract(pure = true)
+    public T vertex(int id) {
+        return vertices.get(id);
+    }
+
+    @Contract(pure = true)
+    public int id(T vertex) {
+        return ids.get(vertex);
+    }
+
+    /**
+     * @return The neighbors of id. Must not be modified.
+     */
+    @Contract(pure = true)
+    public int[] neighbors(int id) {
+        return adjacency[id];
+    }
+
+    @Contract(pure = true)
+    public List<T> toVertices(int[] ids) {
+        List<T> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(vertices.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Maximum cardinality search in O(n+m) (Tarjan and Yannakakis), keeping the unnumbered vertices in
+     * doubly linked buckets by weight.
+     * @return order, where order[size()-1] is numbered first, so order is a perfect elimination ordering if the
+     * graph is chordal.
+     */
+    @Contract(pure = true)
+    public int[] maximumCardinalitySearch() {
+        int n = size();
+        int[] order = new int[n];
+        int[] weight = new int[n];
+        int[] head = new int[n + 1], next = new int[n], prev = new int[n];
+        boolean[] numbered = new boolean[n];
+
+        Arrays.fill(head, -1);
+        for (int v = 0; v < n; v++) {
+            push(head, next, prev, 0, v);
+        }
+
+        int max = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            while (head[max] < 0) max--;
+
+            int z = head[max];
+            unlink(head, next, prev, max, z);
+            order[i] = z;
+            numbered[z] = true;
+
+            for (int neighbor : adjacency[z]) {
+                if (!numbered[neighbor]) {
+                    unlink(head, next, prev, weight[neighbor], neighbor);
+                    weight[neighbor]++;
+                    push(head, next, prev, weight[neighbor], neighbor);
+                    if (weight[neighbor] > max) max = weight[neighbor];
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * MCS-M in O(nm) (Berry, Blair, Heggernes and Peyton). When v is numbered, one search over the unnumbered
+     * vertices, processed in buckets by increasing weight, finds every u reachable from v through vertices of lower
+     * weight than u. Those u get their weight incremented, and become fill edges vu if not already neighbors.
+     * @return The minimal elimination ordering (order[0] is eliminated first) and the fill edges as pairs of ids.
+     */
+    @Contract(pure = true)
+    public Pair<int[], int[][]> maximumCardinalitySearchM() {
+        int n = size();
+        int[] order = new int[n];
+        int[] weight = new int[n];
+        boolean[] numbered = new boolean[n];
+        int[] reached = new int[n]; // reached[u] == step+1 if u has been reached in the search of this step.
+        int[] increment = new int[n];
+        List<int[]> fill = new ArrayList<>();
+
+        // reach[j] is a stack of reached vertices to explore through paths of weight at most j.
+        int[][] reach = new int[n][];
+        int[] reachSize = new int[n];
+
+        for (int step = 0, i = n - 1; i >= 0; step++, i--) {
+            int v = -1;
+            for (int u = 0; u < n; u++) {
+                if (!numbered[u] && (v < 0 || weight[u] > weight[v])) v = u;
+            }
+            order[i] = v;
+            numbered[v] = true;
+            reached[v] = step + 1;
+
+            int increments = 0;
+            for (int u : adjacency[v]) {
+                if (!numbered[u]) {
+                    reached[u] = step + 1;
+                    increment[increments++] = u;
+                    push(reach, reachSize, weight[u], u);
+                }
+            }
+
+            for (int j = 0; j < n; j++) {
+                while (reachSize[j] > 0) {
+                    int x = reach[j][--reachSize[j]];
+                    for (int z : adjacency[x]) {
+                        if (numbered[z] || reached[z] == step + 1) continue;
+                        reached[z] = step + 1;
+
+                        if (weight[z] > j) {
+                            push(reach, reachSize, weight[z], z);
+                            increment[increments++] = z;
+                            fill.add(new int[]{v, z});
+                        } else {
+                            push(reach, reachSize, j, z);
+                        }
+                    }
+                }
+            }
+
+            for (int k = 0; k < increments; k++) {
+                weight[increment[k]]++;
+            }
+        }
+
+        return Tuple.of(order, fill.toArray(new int[fill.size()][]));
+    }
+
+    /**
+     * Decomposition by clique minimal separators in O(nm) (Tarjan; Berry, Pogorelcnik and Simonet). With H the
+     * minimal triangulation from MCS-M, the minimal separators of H are the sets madj(x) of H-neighbors numbered
+     * before x, for the x whose weight did not grow from the vertex numbered before. Taking those x in elimination
+     * order, every madj(x) which is a clique of G splits off the component of x, with madj(x), as an atom.
+     * An empty madj(x), where a new component starts, counts as a clique, so atoms are connected.
+     * @return The vertex sets of the atoms, as ids. Every edge of the graph is in some atom.
+     */
+    @Contract(pure = true)
+    public int[][] atoms() {
+        int n = size();
+        Pair<int[], int[][]> mcsM = maximumCardinalitySearchM();
+        int[] order = mcsM.a;
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        // madj[v] = the neighbors of v in H numbered before v, i.e. eliminated after it.
+        int[][] madj = new int[n][];
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            for (int u : adjacency[v]) {
+                if (position[u] > position[v]) degree[v]++;
+            }
+        }
+        for (int[] edge : mcsM.b) {
+            degree[position[edge[0]] < position[edge[1]] ? edge[0] : edge[1]]++;
+        }
+        for (int v = 0; v < n; v++) {
+            madj[v] = new int[degree[v]];
+            degree[v] = 0;
+            for (int u : adjacency[v]) {
+                if (position[u] > position[v]) madj[v][degree[v]++] = u;
+            }
+        }
+        for (int[] edge : mcsM.b) {
+            int v = position[edge[0]] < position[edge[1]] ? edge[0] : edge[1];
+            madj[v][degree[v]++] = edge[0] + edge[1] - v;
+        }
+
+        List<int[]> atoms = new ArrayList<>();
+        boolean[] removed = new boolean[n];
+        int[] mark = new int[n]; // mark[u] == i+1 if u is in the separator tried at step i.
+        int[] queue = new int[n];
+
+        for (int i = 0; i < n - 1; i++) {
+            int x = order[i];
+            int[] separator = madj[x];
+            if (removed[x] || separator.length > madj[order[i + 1]].length) continue;
+
+            for (int s : separator) {
+                mark[s] = i + 1;
+            }
+            boolean clique = true;
+            for (int s : separator) {
+                int neighbors = 0;
+                for (int u : adjacency[s]) {
+                    if (mark[u] == i + 1) neighbors++;
+                }
+                if (neighbors < separator.length - 1) {
+                    clique = false;
+                    break;
+                }
+            }
+            if (!clique) continue;
+
+            int head = 0, tail = 0;
+            queue[tail++] = x;
+            removed[x] = true;
+            while (head < tail) {
+                for (int u : adjacency[queue[head++]]) {
+                    if (!removed[u] && mark[u] != i + 1) {
+                        removed[u] = true;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+
+            int[] atom = Arrays.copyOf(queue, tail + separator.length);
+            System.arraycopy(separator, 0, atom, tail, separator.length);
+            atoms.add(atom);
+        }
+
+        int[] rest = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (!removed[v]) rest[size++] = v;
+        }
+        if (size > 0) atoms.add(Arrays.copyOf(rest, size));
+
+        return atoms.toArray(new int[atoms.size()][]);
+    }
+
+    private static void push(int[][] stacks, int[] sizes, int stack, int v) {
+        if (stacks[stack] == null) stacks[stack] = new int[4];
+        else if (sizes[stack] == stacks[stack].length) stacks[stack] = Arrays.copyOf(stacks[stack], 2 * sizes[stack]);
+        stacks[stack][sizes[stack]++] = v;
+    }
+
+    private static void push(int[] head, int[] next, int[] prev, int bucket, int v) {
+        next[v] = head[bucket];
+        prev[v] = -1;
+        if (head[bucket] >= 0) prev[head[bucket]] = v;
+        head[bucket] = v;
+    }
+
+    private static void unlink(int[] head, int[] next, int[] prev, int bucket, int v) {
+        if (prev[v] >= 0) next[prev[v]] = next[v];
+        else head[bucket] = next[v];
+        if (next[v] >= 0) prev[next[v]] = prev[v];
+    }
+}
@@ -0,0 +1,85 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Memo table from graphs to the results computed for them. Implementations are thread safe, keyed on the fingerprint
+ * of the graph, and count their hits, misses and evictions in a MemoStatistics, which may be shared by several caches.
+ */
+public interface MemoCache<T extends Comparable<T>, V> {
+    enum Policy {
+        /** Never evicts. */
+        UNBOUNDED,
+        /** Evicts the least recently used entry. */
+        LRU,
+        /** Evicts the entry that was cheapest to compute, aged so entries not used for long go eventually. */
+        COST
+    }
+
+    Policy defaultPolicy = Policy.COST;
+
+    /**
+     * @return The default ceiling of a cache: a quarter of the heap.
+     */
+    @Contract(pure = true)
+    static long defaultCeiling() {
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    /**
+     * @return The value remembered for g, or null.
+     */
+    default V get(Graph<T> g) {
+        return get(g.fingerprint(), h -> h == g || h.equals(g));
+    }
+
+    /**
+     * Looks up a graph by its fingerprint without having it as a Graph, e.g. the current graph of a TrailGraph.
+     * @param matches Whether a remembered graph of the fingerprint is the one looked up. Only called for those, so
+     *                it rules out collisions.
+     * @return The value remembered for the graph, or null.
+     */
+    V get(long fingerprint, Predicate<Graph<T>> matches);
+
+    /**
+     * @param cost The time in nanoseconds it took to compute value.
+     */
+    default void put(Graph<T> g, V value, long cost) {
+        merge(g, value, cost, (old, fresh) -> fresh);
+    }
+
+    /**
+     * Puts value for g, or merge of the value already remembered for g and value, atomically, so racing workers do
+     * not overwrite each other's results.
+     * @param cost The time in nanoseconds it took to compute value.
+     */
+    void merge(Graph<T> g, V value, long cost, BinaryOperator<V> merge);
+
+    @Contract(pure = true)
+    int size();
+
+    @Contract(pure = true)
+    MemoStatistics getStatistics();
+
+    /**
+     * @param ceiling Estimated bytes the entries may take up. Ignored when policy is UNBOUNDED.
+     * @param valueWeight Estimated bytes of a value, on top of the graph.
+     */
+    @Contract(pure = true)
+    static <T extends Comparable<T>, V> MemoCache<T, V> create(Policy policy, long ceiling, ToLongFunction<V> valueWeight, MemoStatistics statistics) {
+        if (policy == Policy.UNBOUNDED) return new FingerprintTable<>(statistics);
+        return new BoundedMemoCache<>(policy, ceiling, valueWeight, statistics);
+    }
+
+    /**
+     * @return A rough estimate of the bytes taken up by g, counting every vertex and both ends of every edge.
+     */
+    @Contract(pure = true)
+    static <T extends Comparable<T>> long weight(Graph<T> g) {
+        return 64 + 64L * g.getVertices().size() + 64L * g.getNumberOfEdges();
+    }
+}
@@ -0,0 +1,44 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss and eviction counters of one or more MemoCaches.
+ */
+public class MemoStatistics {
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    @Contract(pure = true)
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Contract(pure = true)
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Contract(pure = true)
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits: %d, misses: %d, evictions: %d", getHits(), getMisses(), getEvictions());
+    }
+}
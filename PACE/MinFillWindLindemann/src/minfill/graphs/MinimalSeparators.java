@@ -0,0 +1,239 @@
+package minfill.graphs;
+
+import minfill.sets.Bits;
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The minimal separators of a graph, enumerated by the algorithm of Berry, Bordat and Cogis in O(n^3) per separator.
+ * The neighborhoods of the components of G-N[v] are the minimal separators close to v. Every other one is found from
+ * a known separator S and x in S, as the neighborhood of a component of G-(S u N(x)).
+ * The enumeration is lazy: separators are found on demand, numbered in the order they are found, and kept without
+ * duplicates, so iterating, or asking for get(i), only does the work needed to reach them. Not thread safe.
+ */
+public class MinimalSeparators<T extends Comparable<T>> implements Iterable<Set<T>> {
+    private final Universe<T> universe;
+    private final long[] vertices;
+    private final long[][] neighborhoods;
+
+    private final List<long[]> separators = new ArrayList<>();
+    private final Map<Key, Integer> indices = new HashMap<>();
+
+    // Progress of the enumeration: vertices v with ids below nextVertex have had their close separators found, and
+    // the separator processed has been combined with the elements of it below nextElement.
+    private int nextVertex, processed, nextElement;
+
+    // Scratch buffers.
+    private final long[] removed, outside, boundary;
+    private final int[] queue;
+
+    public MinimalSeparators(Graph<T> g) {
+        universe = Universe.sorted(g.getVertices());
+        int n = universe.size(), words = universe.words();
+
+        vertices = new long[words];
+        neighborhoods = new long[n][words];
+        for (int id = 0; id < n; id++) {
+            Bits.set(vertices, id);
+            for (T neighbor : g.neighborhood(universe.get(id))) {
+                Bits.set(neighborhoods[id], universe.indexOf(neighbor));
+            }
+        }
+
+        removed = new long[words];
+        outside = new long[words];
+        boundary = new long[words];
+        queue = new int[n];
+    }
+
+    /**
+     * @return The separator numbered index, finding it if it has not been found yet.
+     * @throws IndexOutOfBoundsException If the graph has at most index minimal separators.
+     */
+    public Set<T> get(int index) {
+        while (separators.size() <= index) {
+            if (!step()) throw new IndexOutOfBoundsException("Only " + separators.size() + " minimal separators");
+        }
+        return toSet(separators.get(index));
+    }
+
+    /**
+     * @return The number of separators, enumerating all of them.
+     */
+    public int size() {
+        while (step()) ;
+        return separators.size();
+    }
+
+    /**
+     * @return The number separator has been given, or -1 if it is not a minimal separator.
+     */
+    public int indexOf(Set<T> separator) {
+        long[] bits = new long[vertices.length];
+        for (T vertex : separator) {
+            int id = universe.indexOf(vertex);
+            if (id < 0) return -1;
+            Bits.set(bits, id);
+        }
+
+        Key key = new Key(bits);
+        while (!indices.containsKey(key) && step()) ;
+        return indices.getOrDefault(key, -1);
+    }
+
+    public boolean contains(Set<T> separator) {
+        return indexOf(separator) >= 0;
+    }
+
+    /**
+     * @return All minimal separators.
+     */
+    public Set<Set<T>> toSet() {
+        java.util.Set<Set<T>> result = new HashSet<>();
+        for (Set<T> separator : this) {
+            result.add(separator);
+        }
+        return Set.of(result);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<Set<T>> iterator() {
+        return new Iterator<Set<T>>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (separators.size() <= index) {
+                    if (!step()) return false;
+                }
+                return true;
+            }
+
+            @Override
+            public Set<T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return toSet(separators.get(index++));
+            }
+        };
+    }
+
+    @Contract(pure = true)
+    public Stream<Set<T>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Does one unit of work: finds the separators close to one vertex, or those generated by one separator and one of
+     * its elements.
+     * @return false if every separator has been found.
+     */
+    private boolean step() {
+        if (nextVertex < universe.size()) {
+            int v = nextVertex++;
+            System.arraycopy(neighborhoods[v], 0, removed, 0, removed.length);
+            Bits.set(removed, v);
+            addComponentNeighborhoods();
+            return true;
+        }
+
+        while (processed < separators.size()) {
+            long[] separator = separators.get(processed);
+            int x = Bits.nextSetBit(separator, nextElement);
+            if (x < 0) {
+                processed++;
+                nextElement = 0;
+                continue;
+            }
+            nextElement = x + 1;
+
+            long[] row = neighborhoods[x];
+            for (int i = 0; i < removed.length; i++) {
+                removed[i] = separator[i] | row[i];
+            }
+            addComponentNeighborhoods();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the neighborhood of every component of G-removed, unless empty or already known.
+     */
+    private void addComponentNeighborhoods() {
+        for (int i = 0; i < outside.length; i++) {
+            outside[i] = vertices[i] & ~removed[i];
+        }
+
+        for (int start = Bits.nextSetBit(outside, 0); start >= 0; start = Bits.nextSetBit(outside, start + 1)) {
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            Bits.clear(outside, start);
+            Arrays.fill(boundary, 0);
+
+            while (head < tail) {
+                long[] row = neighborhoods[queue[head++]];
+                for (int i = 0; i < row.length; i++) {
+                    boundary[i] |= row[i] & removed[i];
+                    long found = row[i] & outside[i];
+                    outside[i] &= ~found;
+                    while (found != 0) {
+                        queue[tail++] = (i << 6) + Long.numberOfTrailingZeros(found);
+                        found &= found - 1;
+                    }
+                }
+            }
+
+            if (Bits.isEmpty(boundary)) continue; // the component is a component of G
+            Key key = new Key(boundary.clone());
+            if (!indices.containsKey(key)) {
+                indices.put(key, separators.size());
+                separators.add(key.bits);
+            }
+        }
+    }
+
+    private Set<T> toSet(long[] bits) {
+        List<T> separator = new ArrayList<>(Bits.cardinality(bits));
+        for (int id = Bits.nextSetBit(bits, 0); id >= 0; id = Bits.nextSetBit(bits, id + 1)) {
+            separator.add(universe.get(id));
+        }
+        return Set.of(separator);
+    }
+
+    private static class Key {
+        private final long[] bits;
+        private final int hashCode;
+
+        private Key(long[] bits) {
+            this.bits = bits;
+            this.hashCode = Arrays.hashCode(bits);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bits, ((Key) o).bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package minfill.graphs;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+
+/**
+ * IntGraph whose vertices can be deleted in place. A deleted vertex keeps its id but loses all its edges, so to the
+ * algorithms of IntGraph it is just an isolated vertex, which changes neither chordality nor chordless cycles.
+ */
+public class MutableIntGraph<T extends Comparable<T>> extends IntGraph<T> {
+    private final boolean[] deleted;
+    private int remaining;
+
+    public MutableIntGraph(Graph<T> g) {
+        super(g);
+        deleted = new boolean[size()];
+        remaining = size();
+    }
+
+    /**
+     * Deletes id and its edges in O(sum of the degrees of its neighbors).
+     */
+    public void delete(int id) {
+        if (deleted[id]) return;
+        deleted[id] = true;
+        remaining--;
+
+        for (int neighbor : adjacency[id]) {
+            int[] neighbors = adjacency[neighbor];
+            int at = 0;
+            while (neighbors[at] != id) at++;
+            neighbors[at] = neighbors[neighbors.length - 1];
+            adjacency[neighbor] = Arrays.copyOf(neighbors, neighbors.length - 1);
+        }
+        adjacency[id] = new int[0];
+    }
+
+    public void delete(Iterable<T> vertices) {
+        for (T vertex : vertices) {
+            delete(id(vertex));
+        }
+    }
+
+    @Contract(pure = true)
+    public boolean isDeleted(int id) {
+        return deleted[id];
+    }
+
+    /**
+     * @return The number of vertices not deleted.
+     */
+    @Contract(pure = true)
+    public int remaining() {
+        return remaining;
+    }
+}
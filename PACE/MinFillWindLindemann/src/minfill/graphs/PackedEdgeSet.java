@@ -0,0 +1,193 @@
+package minfill.graphs;
+
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of edges, each packed into a long holding the ids of its ends over a Universe, the smaller in the high half.
+ * The longs are kept in an open addressing hash table with linear probing, so an edge takes 8 to 16 bytes and no
+ * objects, and a union adds to the table in place instead of copying a hash set of boxed edges.
+ * Mutable: a set handed out, e.g. as a memoized fill, must be copied before adding to it.
+ */
+public class PackedEdgeSet {
+    private static final long free = -1; // Not a packed edge, as ids are non-negative.
+
+    private long[] table;
+    private int size;
+
+    public PackedEdgeSet() {
+        this(4);
+    }
+
+    /**
+     * @param expected The number of edges to make room for.
+     */
+    public PackedEdgeSet(int expected) {
+        int capacity = 8;
+        while (capacity < 2 * expected) capacity <<= 1;
+        table = new long[capacity];
+        Arrays.fill(table, free);
+    }
+
+    private PackedEdgeSet(PackedEdgeSet other) {
+        table = other.table.clone();
+        size = other.size;
+    }
+
+    public static <T extends Comparable<T>> PackedEdgeSet of(Iterable<Edge<T>> edges, Universe<T> universe) {
+        PackedEdgeSet result = new PackedEdgeSet();
+        for (Edge<T> edge : edges) {
+            result.add(universe.indexOf(edge.from), universe.indexOf(edge.to));
+        }
+        return result;
+    }
+
+    @Contract(pure = true)
+    public static long pack(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+
+    /**
+     * @return The smaller id of the ends of edge.
+     */
+    @Contract(pure = true)
+    public static int from(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    /**
+     * @return The larger id of the ends of edge.
+     */
+    @Contract(pure = true)
+    public static int to(long edge) {
+        return (int) edge;
+    }
+
+    @Contract(pure = true)
+    public PackedEdgeSet copy() {
+        return new PackedEdgeSet(this);
+    }
+
+    @Contract(pure = true)
+    public int size() {
+        return size;
+    }
+
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Contract(pure = true)
+    public boolean contains(long edge) {
+        int mask = table.length - 1;
+        for (int slot = slot(edge, mask); table[slot] != free; slot = (slot + 1) & mask) {
+            if (table[slot] == edge) return true;
+        }
+        return false;
+    }
+
+    @Contract(pure = true)
+    public boolean contains(int a, int b) {
+        return contains(pack(a, b));
+    }
+
+    /**
+     * @return Whether edge was not already in the set.
+     */
+    public boolean add(long edge) {
+        int mask = table.length - 1;
+        int slot = slot(edge, mask);
+        for (; table[slot] != free; slot = (slot + 1) & mask) {
+            if (table[slot] == edge) return false;
+        }
+        table[slot] = edge;
+        if (++size * 2 > table.length) grow();
+        return true;
+    }
+
+    public boolean add(int a, int b) {
+        return add(pack(a, b));
+    }
+
+    public void addAll(PackedEdgeSet other) {
+        for (long edge : other.table) {
+            if (edge != free) add(edge);
+        }
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long edge : table) {
+            if (edge != free) action.accept(edge);
+        }
+    }
+
+    /**
+     * @return The edges in increasing order, i.e. by smaller and then larger end.
+     */
+    @Contract(pure = true)
+    public long[] toSortedArray() {
+        long[] edges = new long[size];
+        int i = 0;
+        for (long edge : table) {
+            if (edge != free) edges[i++] = edge;
+        }
+        Arrays.sort(edges);
+        return edges;
+    }
+
+    @Contract(pure = true)
+    public <T extends Comparable<T>> Set<Edge<T>> toEdges(Universe<T> universe) {
+        java.util.Set<Edge<T>> edges = new HashSet<>(2 * size);
+        for (long edge : table) {
+            if (edge != free) edges.add(new Edge<>(universe.get(from(edge)), universe.get(to(edge))));
+        }
+        return Set.of(edges);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PackedEdgeSet)) return false;
+
+        PackedEdgeSet other = (PackedEdgeSet) o;
+        if (size != other.size) return false;
+        for (long edge : table) {
+            if (edge != free && !other.contains(edge)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long edge : table) {
+            if (edge != free) hash += Long.hashCode(edge);
+        }
+        return hash;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[2 * old.length];
+        Arrays.fill(table, free);
+        int mask = table.length - 1;
+        for (long edge : old) {
+            if (edge == free) continue;
+            int slot = slot(edge, mask);
+            while (table[slot] != free) slot = (slot + 1) & mask;
+            table[slot] = edge;
+        }
+    }
+
+    @Contract(pure = true)
+    private static int slot(long edge, int mask) {
+        long z = edge * 0x9e3779b97f4a7c15L;
+        return (int) (z ^ z >>> 32) & mask;
+    }
+}
@@ -0,0 +1,170 @@
+package minfill.graphs;
+
+import minfill.sets.BitSetSet;
+import minfill.sets.Bits;
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+
+/**
+ * Tests whether vertex sets are potential maximal cliques of a fixed graph, by the characterization of Bouchitté and
+ * Todinca: K is a potential maximal clique iff no component of G-K is full, i.e. has all of K as neighborhood, and
+ * every two non-adjacent vertices of K are both in the neighborhood of some component of G-K.
+ * The components are found by a search over bitset neighborhoods, and the pairs covered by them are or'ed into a row
+ * per vertex of K, all in buffers allocated once, so a test allocates nothing. The buffers make a checker unsafe to
+ * share between threads; use one per thread.
+ */
+public class PotentialMaximalCliqueChecker<T extends Comparable<T>> {
+    private final Universe<T> universe;
+    private final long[] vertices;
+    private final long[][] neighborhoods;
+
+    // Scratch buffers.
+    private final long[] mask, outside, boundary;
+    private final long[][] covered;
+    private final int[] queue;
+
+    public PotentialMaximalCliqueChecker(Graph<T> g) {
+        universe = Universe.sorted(g.getVertices());
+        int n = universe.size(), words = universe.words();
+
+        vertices = new long[words];
+        neighborhoods = new long[n][words];
+        for (int id = 0; id < n; id++) {
+            Bits.set(vertices, id);
+            for (T neighbor : g.neighborhood(universe.get(id))) {
+                Bits.set(neighborhoods[id], universe.indexOf(neighbor));
+            }
+        }
+
+        mask = new long[words];
+        outside = new long[words];
+        boundary = new long[words];
+        covered = new long[n][words];
+        queue = new int[n];
+    }
+
+    /**
+     * @return The universe the masks taken by this checker are over.
+     */
+    @Contract(pure = true)
+    public Universe<T> getUniverse() {
+        return universe;
+    }
+
+    public boolean isPotentialMaximalClique(Set<T> k) {
+        return isPotentialMaximalClique(toBits(k));
+    }
+
+    public boolean isVitalPotentialMaximalClique(Set<T> k, int budget) {
+        return isVitalPotentialMaximalClique(toBits(k), budget);
+    }
+
+    /**
+     * @param k The ids of the vertices, over getUniverse(). Not modified.
+     */
+    public boolean isVitalPotentialMaximalClique(long[] k, int budget) {
+        return budget >= 0 && numberOfNonEdges(k) <= budget && isPotentialMaximalClique(k);
+    }
+
+    /**
+     * @param ids The ids of the vertices, over getUniverse().
+     */
+    public boolean isVitalPotentialMaximalClique(int[] ids, int budget) {
+        Arrays.fill(mask, 0);
+        for (int id : ids) {
+            Bits.set(mask, id);
+        }
+        return isVitalPotentialMaximalClique(mask, budget);
+    }
+
+    /**
+     * @param k The ids of the vertices, over getUniverse(). Not modified.
+     */
+    public boolean isPotentialMaximalClique(long[] k) {
+        for (int id = Bits.nextSetBit(k, 0); id >= 0; id = Bits.nextSetBit(k, id + 1)) {
+            Arrays.fill(covered[id], 0);
+        }
+        for (int i = 0; i < outside.length; i++) {
+            outside[i] = vertices[i] & ~k[i];
+        }
+
+        for (int start = Bits.nextSetBit(outside, 0); start >= 0; start = Bits.nextSetBit(outside, start + 1)) {
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            Bits.clear(outside, start);
+            Arrays.fill(boundary, 0);
+
+            while (head < tail) {
+                long[] row = neighborhoods[queue[head++]];
+                for (int i = 0; i < row.length; i++) {
+                    boundary[i] |= row[i] & k[i];
+                    long found = row[i] & outside[i];
+                    outside[i] &= ~found;
+                    while (found != 0) {
+                        queue[tail++] = (i << 6) + Long.numberOfTrailingZeros(found);
+                        found &= found - 1;
+                    }
+                }
+            }
+
+            if (Arrays.equals(boundary, k)) return false; // full component
+            for (int id = Bits.nextSetBit(boundary, 0); id >= 0; id = Bits.nextSetBit(boundary, id + 1)) {
+                long[] row = covered[id];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] |= boundary[i];
+                }
+            }
+        }
+
+        for (int id = Bits.nextSetBit(k, 0); id >= 0; id = Bits.nextSetBit(k, id + 1)) {
+            long[] row = neighborhoods[id], cover = covered[id];
+            for (int i = 0; i < k.length; i++) {
+                long missing = k[i] & ~row[i] & ~cover[i];
+                if (i == id >>> 6) missing &= ~(1L << id); // a vertex is not its own neighbor
+                if (missing != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param k The ids of the vertices, over getUniverse(). Not modified.
+     * @return The number of non-adjacent pairs in k.
+     */
+    @Contract(pure = true)
+    public int numberOfNonEdges(long[] k) {
+        int missing = 0;
+        for (int id = Bits.nextSetBit(k, 0); id >= 0; id = Bits.nextSetBit(k, id + 1)) {
+            long[] row = neighborhoods[id];
+            for (int i = 0; i < k.length; i++) {
+                missing += Long.bitCount(k[i] & ~row[i]);
+            }
+        }
+        return (missing - Bits.cardinality(k)) / 2; // every vertex counted itself as missing
+    }
+
+    /**
+     * @return The neighbors of id as a bitset over getUniverse(). Must not be modified.
+     */
+    @Contract(pure = true)
+    long[] neighborhood(int id) {
+        return neighborhoods[id];
+    }
+
+    private long[] toBits(Set<T> vertices) {
+        if (vertices instanceof BitSetSet && ((BitSetSet<T>) vertices).getUniverse() == universe) {
+            return ((BitSetSet<T>) vertices).words();
+        }
+
+        Arrays.fill(mask, 0);
+        for (T vertex : vertices) {
+            int id = universe.indexOf(vertex);
+            if (id < 0) throw new IllegalArgumentException("Unknown vertex");
+            Bits.set(mask, id);
+        }
+        return mask;
+    }
+}
@@ -1,9 +1,16 @@
 package minfill.graphs;
 
+import minfill.sets.CombinationSpliterator;
 import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Created by aws on 19-04-2017.
@@ -22,4 +29,43 @@ public class PotentialQuasiCliqueIterable<T extends Comparable<T>> implements It
     public Iterator<Set<T>> iterator() {
         return new PotentialQuasiCliqueIterator(g, k);
     }
+
+    /**
+     * The same sets as iterator(), but split on the vertex subsets Z, so a parallel stream works on several Z at once.
+     */
+    @Contract(pure = true)
+    public Stream<Set<T>> stream(boolean parallel) {
+        Universe<T> universe = Universe.sorted(g.getVertices());
+        return StreamSupport.stream(new CombinationSpliterator(universe.size(), 1, (int)(5*Math.sqrt(k))), parallel)
+                .map(universe::subset)
+                .flatMap(z -> quasiCliques(z).stream());
+    }
+
+    /**
+     * @return The potential quasi cliques found from z, in the order the iterator returns them.
+     */
+    @Contract(pure = true)
+    private List<Set<T>> quasiCliques(Set<T> z) {
+        List<Set<T>> quasiCliques = new ArrayList<>();
+        ChordalGraph<T> h = g.inducedBy(g.getVertices().minus(z)).minimalTriangulation();
+
+        for (Set<T> s : h.minimalSeparators()) {
+            if (g.isClique(s)) quasiCliques.add(s.union(z));
+        }
+        for (Set<T> maximalClique : h.maximalCliques()) {
+            if (g.isClique(maximalClique)) quasiCliques.add(maximalClique.union(z));
+
+            Graph<T> gMinusKUnionZ = g.inducedBy(g.getVertices().minus(maximalClique.union(z)));
+            for (T y : z) {
+                Set<T> Y = Set.of(y);
+                for (Set<T> bi : gMinusKUnionZ.components()) {
+                    if (g.neighborhood(bi).contains(y)) {
+                        Y = Y.union(bi);
+                    }
+                }
+                quasiCliques.add(g.neighborhood(Y).add(y));
+            }
+        }
+        return quasiCliques;
+    }
 }
@@ -0,0 +1,200 @@
+package minfill.graphs;
+
+import minfill.sets.Bits;
+import minfill.sets.Set;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+
+/**
+ * Working graph for branching searches: edges are added in place and recorded on a trail, and rollback(checkpoint)
+ * removes those added after the checkpoint, so a search adds an edge, recurses and rolls back instead of deriving a
+ * new immutable graph per branch. Adjacency is kept both as a bitset row per vertex, for isAdjacent, and as the int
+ * arrays of IntGraph, so the linear time algorithms (MCS, chordality certificates) run on it directly. Adding an edge
+ * allocates arrays one longer for its two ends, and the trail keeps the replaced ones, so a rollback restores them
+ * without allocating.
+ * The fingerprint is updated per edge, so a memo table can be probed with it and isSnapshot, and snapshot() gives the
+ * current graph as an immutable Graph, to be called only when one is needed, e.g. to insert into a memo table or for
+ * a solution. Not thread safe; copy() gives an independent copy.
+ */
+public class TrailGraph<T extends Comparable<T>> extends IntGraph<T> {
+    private final Graph<T> base;
+    private final long[][] rows;
+    private long fingerprint;
+
+    // The trail: edge i added from[i], to[i], replacing the arrays replaced[2i] of from[i] and replaced[2i+1] of to[i].
+    private int[] from, to;
+    private int[][] replaced;
+    private int size;
+
+    public TrailGraph(Graph<T> g) {
+        super(g);
+        base = g;
+        fingerprint = g.fingerprint();
+
+        int n = size(), words = (n + 63) >>> 6;
+        rows = new long[n][words];
+        for (int id = 0; id < n; id++) {
+            for (int neighbor : adjacency[id]) {
+                Bits.set(rows[id], neighbor);
+            }
+        }
+
+        from = new int[8];
+        to = new int[8];
+        replaced = new int[16][];
+    }
+
+    private TrailGraph(TrailGraph<T> other) {
+        super(other);
+        base = other.base;
+        fingerprint = other.fingerprint;
+        rows = new long[other.rows.length][];
+        for (int id = 0; id < rows.length; id++) {
+            rows[id] = other.rows[id].clone();
+        }
+        from = other.from.clone();
+        to = other.to.clone();
+        replaced = other.replaced.clone();
+        size = other.size;
+    }
+
+    /**
+     * @return An independent copy, with the same trail.
+     */
+    @Contract(pure = true)
+    public TrailGraph<T> copy() {
+        return new TrailGraph<>(this);
+    }
+
+    @Contract(pure = true)
+    public boolean isAdjacent(int u, int v) {
+        return Bits.get(rows[u], v);
+    }
+
+    /**
+     * Adds the edge uv, unless present.
+     * @return Whether the edge was added, and recorded on the trail.
+     */
+    public boolean addEdge(int u, int v) {
+        if (u == v || isAdjacent(u, v)) return false;
+
+        if (size == from.length) {
+            from = Arrays.copyOf(from, 2 * size);
+            to = Arrays.copyOf(to, 2 * size);
+            replaced = Arrays.copyOf(replaced, 4 * size);
+        }
+        from[size] = u;
+        to[size] = v;
+        replaced[2 * size] = adjacency[u];
+        replaced[2 * size + 1] = adjacency[v];
+        size++;
+
+        adjacency[u] = append(adjacency[u], v);
+        adjacency[v] = append(adjacency[v], u);
+        Bits.set(rows[u], v);
+        Bits.set(rows[v], u);
+        fingerprint ^= Fingerprint.edge(vertex(u), vertex(v));
+        return true;
+    }
+
+    public boolean addEdge(Edge<T> edge) {
+        return addEdge(id(edge.from), id(edge.to));
+    }
+
+    /**
+     * @return A checkpoint to roll back to, the number of edges added so far.
+     */
+    @Contract(pure = true)
+    public int checkpoint() {
+        return size;
+    }
+
+    /**
+     * Removes the edges added after checkpoint, latest first.
+     */
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > size) throw new IllegalArgumentException("checkpoint");
+        while (size > checkpoint) {
+            size--;
+            int u = from[size], v = to[size];
+            adjacency[u] = replaced[2 * size];
+            adjacency[v] = replaced[2 * size + 1];
+            replaced[2 * size] = replaced[2 * size + 1] = null;
+            Bits.clear(rows[u], v);
+            Bits.clear(rows[v], u);
+            fingerprint ^= Fingerprint.edge(vertex(u), vertex(v));
+        }
+    }
+
+    /**
+     * @return The fingerprint of snapshot(), see Fingerprint.
+     */
+    @Contract(pure = true)
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return Whether g is the current graph, i.e. equal to snapshot(), checked without making it.
+     */
+    @Contract(pure = true)
+    public boolean isSnapshot(Graph<T> g) {
+        if (g.getVertices().size() != size()) return false;
+        int edges = 0;
+        for (int id = 0; id < size(); id++) {
+            T vertex = vertex(id);
+            if (!g.getVertices().contains(vertex)) return false;
+            for (int neighbor : adjacency[id]) {
+                if (neighbor < id) continue;
+                if (!g.isAdjacent(vertex, vertex(neighbor))) return false;
+                edges++;
+            }
+        }
+        return edges == g.getNumberOfEdges();
+    }
+
+    /**
+     * @return The edges on the trail, i.e. those added to the graph given to the constructor.
+     */
+    @Contract(pure = true)
+    public Set<Edge<T>> getAddedEdges() {
+        java.util.Set<Edge<T>> added = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            added.add(new Edge<>(vertex(from[i]), vertex(to[i])));
+        }
+        return Set.of(added);
+    }
+
+    /**
+     * @return The current graph, as the graph given to the constructor with the added edges.
+     */
+    @Contract(pure = true)
+    public Graph<T> snapshot() {
+        return size == 0 ? base : base.addEdges(getAddedEdges());
+    }
+
+    @Contract(pure = true)
+    public boolean isChordal() {
+        return new ChordalityCertificate<>(this).isChordal();
+    }
+
+    /**
+     * @return A chordless cycle of length at least 4 as ids, in cycle order. Empty if the graph is chordal.
+     */
+    @Contract(pure = true)
+    public Optional<int[]> findChordlessCycle() {
+        ChordalityCertificate<T> certificate = new ChordalityCertificate<>(this);
+        if (certificate.isChordal()) return Optional.empty();
+        return Optional.of(certificate.chordlessCycleIds());
+    }
+
+    @Contract(pure = true)
+    private static int[] append(int[] array, int value) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+}
@@ -0,0 +1,96 @@
+package minfill.graphs;
+
+import minfill.sets.Bits;
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Generates the vertex subsets of bounded size with at most budget non-edges, the candidates for vital potential
+ * maximal cliques. The subsets are grown one vertex at a time, in increasing order of ids, and the number of non-edges
+ * is kept up to date: a vertex v added to S brings |S \ N(v)| new non-edges, one popcount of the neighborhood of v
+ * against S. Adding vertices never removes non-edges, so once S has more than budget of them, no subset grown from S
+ * is visited either.
+ * Uses the neighborhoods of, and shares the universe with, a PotentialMaximalCliqueChecker. Not thread safe.
+ */
+public class VitalSubsetGenerator<T extends Comparable<T>> {
+    public interface Visitor {
+        /**
+         * @param subset The subset as a bitset. Must not be modified, and changes after the call.
+         * @param ids The ids of the subset in increasing order, in ids[0..size-1].
+         * @return false to stop the generation.
+         */
+        boolean visit(long[] subset, int[] ids, int size);
+    }
+
+    private final PotentialMaximalCliqueChecker<T> checker;
+    private final int n;
+    private final long[] subset;
+    private int[] ids = new int[0];
+    private int nonEdges, budget, maxSize;
+    private Visitor visitor;
+
+    public VitalSubsetGenerator(PotentialMaximalCliqueChecker<T> checker) {
+        this.checker = checker;
+        this.n = checker.getUniverse().size();
+        this.subset = new long[checker.getUniverse().words()];
+    }
+
+    /**
+     * Visits the non-empty subsets of size at most maxSize with at most budget non-edges.
+     * @return false if the visitor stopped the generation.
+     */
+    public boolean forEach(int maxSize, int budget, Visitor visitor) {
+        for (int first = 0; first < n; first++) {
+            if (!forEach(first, maxSize, budget, visitor)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * As forEach(maxSize, budget, visitor), restricted to the subsets whose smallest id is first, so the generation can
+     * be split between threads by first vertex.
+     */
+    public boolean forEach(int first, int maxSize, int budget, Visitor visitor) {
+        if (maxSize < 1 || budget < 0) return true;
+        if (ids.length < maxSize) ids = new int[maxSize];
+        this.maxSize = maxSize;
+        this.budget = budget;
+        this.visitor = visitor;
+
+        Bits.set(subset, first);
+        ids[0] = first;
+        nonEdges = 0;
+        try {
+            return visitor.visit(subset, ids, 1) && extend(first + 1, 1);
+        } finally {
+            Bits.clear(subset, first);
+        }
+    }
+
+    private boolean extend(int from, int size) {
+        if (size >= maxSize) return true;
+
+        for (int v = from; v < n; v++) {
+            int added = size - common(checker.neighborhood(v));
+            if (nonEdges + added > budget) continue; // neither S+v nor anything grown from it is vital
+
+            Bits.set(subset, v);
+            ids[size] = v;
+            nonEdges += added;
+            boolean proceed = visitor.visit(subset, ids, size + 1) && extend(v + 1, size + 1);
+            nonEdges -= added;
+            Bits.clear(subset, v);
+
+            if (!proceed) return false;
+        }
+        return true;
+    }
+
+    @Contract(pure = true)
+    private int common(long[] neighborhood) {
+        int common = 0;
+        for (int i = 0; i < subset.length; i++) {
+            common += Long.bitCount(subset[i] & neighborhood[i]);
+        }
+        return common;
+    }
+}
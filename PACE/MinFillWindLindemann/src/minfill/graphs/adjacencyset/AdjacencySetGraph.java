@@ -2,17 +2,26 @@ package minfill.graphs.adjacencyset;
 
 import minfill.graphs.ChordalGraph;
 import minfill.graphs.Edge;
+import minfill.graphs.Fingerprint;
 import minfill.graphs.Graph;
+import minfill.graphs.IntGraph;
 import minfill.graphs.Neighborhood;
 import minfill.sets.Set;
+import minfill.sets.Universe;
 import org.jetbrains.annotations.Contract;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
     private final Set<T> vertices;
     private final Map<T, Set<T>> neighborhoods;
+    private IntGraph<T> intGraph;
+    // 0 until computed. Derived graphs update it incrementally when it is known. Volatile, as graphs are shared as memo
+    // keys between workers, and a long is not written atomically otherwise.
+    private volatile long fingerprint;
 
     public AdjacencySetGraph(Set<T> vertices) {
         this.vertices = vertices;
@@ -32,9 +41,30 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
         }
     }
 
+    /**
+     * @param adjacency The neighbors of every vertex of universe, by id.
+     */
+    public AdjacencySetGraph(Universe<T> universe, int[][] adjacency) {
+        this(universe.toSet(), new HashMap<>(2 * universe.size()));
+
+        List<T> neighbors = new ArrayList<>();
+        for (int id = 0; id < universe.size(); id++) {
+            neighbors.clear();
+            for (int neighbor : adjacency[id]) {
+                neighbors.add(universe.get(neighbor));
+            }
+            neighborhoods.put(universe.get(id), Set.of(neighbors));
+        }
+    }
+
     protected AdjacencySetGraph(Set<T> vertices, Map<T, Set<T>> neighborhoods) {
+        this(vertices, neighborhoods, 0);
+    }
+
+    private AdjacencySetGraph(Set<T> vertices, Map<T, Set<T>> neighborhoods, long fingerprint) {
         this.vertices = vertices;
         this.neighborhoods = neighborhoods;
+        this.fingerprint = fingerprint;
     }
 
     @Override
@@ -50,11 +80,29 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
         return new AdjacencySetNeighborhood<>(neighborhoods.get(n));
     }
 
+    @Override
+    @Contract(pure = true)
+    public int getNumberOfEdges() {
+        int degrees = 0;
+        for (T vertex : vertices) {
+            degrees += neighborhoods.get(vertex).size();
+        }
+        return degrees / 2;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public IntGraph<T> toIntGraph() {
+        if (intGraph == null) intGraph = new IntGraph<>(this);
+        return intGraph;
+    }
+
     @Override
     public Graph<T> removeEdges(Set<Edge<T>> edges) {
         boolean change = false;
 
         Map<T, Set<T>> copy = new HashMap<>(neighborhoods);
+        long fingerprint = this.fingerprint;
 
         for (Edge<T> e : edges) {
             assert vertices.contains(e.from);
@@ -64,10 +112,11 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
                 change = true;
                 copy.put(e.from, copy.get(e.from).remove(e.to));
                 copy.put(e.to, copy.get(e.to).remove(e.from));
+                if (fingerprint != 0) fingerprint ^= Fingerprint.edge(e);
             }
         }
 
-        return change ? new AdjacencySetGraph<>(vertices, copy) : this;
+        return change ? new AdjacencySetGraph<>(vertices, copy, fingerprint) : this;
     }
 
     @Override
@@ -83,7 +132,7 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
         copy.put(e.from, copy.get(e.from).add(e.to));
         copy.put(e.to, copy.get(e.to).add(e.from));
 
-        return new AdjacencySetGraph<>(vertices, copy);
+        return new AdjacencySetGraph<>(vertices, copy, fingerprint != 0 ? fingerprint ^ Fingerprint.edge(e) : 0);
     }
 
 
@@ -93,6 +142,7 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
         boolean change = false;
 
         Map<T, Set<T>> copy = new HashMap<>(neighborhoods);
+        long fingerprint = this.fingerprint;
 
         for (Edge<T> e : edges) {
             assert vertices.contains(e.from);
@@ -102,10 +152,11 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
                 change = true;
                 copy.put(e.from, copy.get(e.from).add(e.to));
                 copy.put(e.to, copy.get(e.to).add(e.from));
+                if (fingerprint != 0) fingerprint ^= Fingerprint.edge(e);
             }
         }
 
-        return change ? new AdjacencySetGraph<>(vertices, copy) : this;
+        return change ? new AdjacencySetGraph<>(vertices, copy, fingerprint) : this;
     }
 
     @Override
@@ -120,12 +171,34 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
                 copy.put(vertex, neighborhood(vertex).toSet().intersect(vertices));
             }
 
-            return new AdjacencySetGraph<>(vertices, copy);
+            return new AdjacencySetGraph<>(vertices, copy, inducedFingerprint(vertices));
         }
         // If getVertices is a subset of V(this), but not a proper subset, then it must be the entire graph.
         return this;
     }
 
+    /**
+     * Removes the keys of the vertices not in vertices, and of their edges, from the fingerprint, when that is
+     * cheaper than computing the fingerprint of the induced graph from scratch.
+     */
+    @Contract(pure = true)
+    private long inducedFingerprint(Set<T> vertices) {
+        if (fingerprint == 0) return 0;
+        Set<T> removed = this.vertices.minus(vertices);
+        if (removed.size() > vertices.size()) return 0;
+
+        long fingerprint = this.fingerprint;
+        for (T vertex : removed) {
+            fingerprint ^= Fingerprint.vertex(vertex);
+            for (T neighbor : neighborhoods.get(vertex)) {
+                if (vertex.compareTo(neighbor) < 0 || !removed.contains(neighbor)) {
+                    fingerprint ^= Fingerprint.edge(vertex, neighbor);
+                }
+            }
+        }
+        return fingerprint;
+    }
+
     @Override
     @Contract(pure = true)
     public ChordalGraph<T> minimalTriangulation() {
@@ -147,11 +220,18 @@ public class AdjacencySetGraph<T extends Comparable<T>> implements Graph<T> {
 
         AdjacencySetGraph<?> that = (AdjacencySetGraph<?>) o;
 
-        return neighborhoods.equals(that.neighborhoods);
+        return fingerprint() == that.fingerprint() && neighborhoods.equals(that.neighborhoods);
     }
 
     @Override
     public int hashCode() {
-        return neighborhoods.hashCode();
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    @Contract(pure = true)
+    public long fingerprint() {
+        if (fingerprint == 0) fingerprint = Fingerprint.of(this);
+        return fingerprint;
     }
 }
@@ -0,0 +1,11 @@
+package minfill.graphs.bitset;
+
+import minfill.graphs.ChordalGraph;
+import minfill.sets.Universe;
+
+public class BitSetChordalGraph<T extends Comparable<T>> extends BitSetGraph<T> implements ChordalGraph<T> {
+    protected BitSetChordalGraph(Universe<T> universe, long[] vertices, long[][] neighborhoods) {
+        super(universe, vertices, neighborhoods);
+        assert isChordal();
+    }
+}
@@ -0,0 +1,570 @@
+package minfill.graphs.bitset;
+
+import minfill.graphs.ChordalGraph;
+import minfill.graphs.Edge;
+import minfill.graphs.Fingerprint;
+import minfill.graphs.Graph;
+import minfill.graphs.IntGraph;
+import minfill.graphs.Neighborhood;
+import minfill.graphs.PackedEdgeSet;
+import minfill.sets.BitSetSet;
+import minfill.sets.Bits;
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Graph where the vertices are mapped to dense ids once, and every neighborhood is a bitset over those ids.
+ * Graphs derived through addEdge, removeEdges and inducedBy share the universe, so adjacency tests, clique
+ * checks and non-edge counting are word operations instead of hash lookups.
+ */
+public class BitSetGraph<T extends Comparable<T>> implements Graph<T> {
+    private final Universe<T> universe;
+    private final long[] vertices;
+    private final long[][] neighborhoods; // neighborhoods[id] is null when id is not a vertex of this graph.
+    private IntGraph<T> intGraph;
+    // 0 until computed. Derived graphs update it incrementally when it is known. Volatile, as graphs are shared as memo
+    // keys between workers, and a long is not written atomically otherwise.
+    private volatile long fingerprint;
+
+    public BitSetGraph(Set<T> vertices) {
+        this.universe = Universe.sorted(vertices);
+        this.vertices = new long[universe.words()];
+        this.neighborhoods = new long[universe.size()][];
+
+        for (int id = 0; id < universe.size(); id++) {
+            Bits.set(this.vertices, id);
+            this.neighborhoods[id] = new long[universe.words()];
+        }
+    }
+
+    public BitSetGraph(Set<T> vertices, Set<Edge<T>> edges) {
+        this(vertices);
+
+        for (Edge<T> edge : edges) {
+            int from = universe.indexOf(edge.from), to = universe.indexOf(edge.to);
+            Bits.set(neighborhoods[from], to);
+            Bits.set(neighborhoods[to], from);
+        }
+    }
+
+    /**
+     * @param adjacency The neighbors of every vertex of universe, by id.
+     */
+    public BitSetGraph(Universe<T> universe, int[][] adjacency) {
+        this.universe = universe;
+        this.vertices = new long[universe.words()];
+        this.neighborhoods = new long[universe.size()][];
+
+        for (int id = 0; id < universe.size(); id++) {
+            Bits.set(this.vertices, id);
+            this.neighborhoods[id] = new long[universe.words()];
+            for (int neighbor : adjacency[id]) {
+                Bits.set(this.neighborhoods[id], neighbor);
+            }
+        }
+    }
+
+    protected BitSetGraph(Universe<T> universe, long[] vertices, long[][] neighborhoods) {
+        this(universe, vertices, neighborhoods, 0);
+    }
+
+    private BitSetGraph(Universe<T> universe, long[] vertices, long[][] neighborhoods, long fingerprint) {
+        this.universe = universe;
+        this.vertices = vertices;
+        this.neighborhoods = neighborhoods;
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Universe<T> getUniverse() {
+        return universe;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<T> getVertices() {
+        return toSet(vertices);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Neighborhood<T> neighborhood(T n) {
+        assert contains(n);
+        return new BitSetNeighborhood<>(universe, neighborhoods[universe.indexOf(n)]);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<T> neighborhood(Set<T> vertices) {
+        long[] mask = toBits(vertices);
+        long[] neighborhood = new long[mask.length];
+
+        for (int id = Bits.nextSetBit(mask, 0); id >= 0; id = Bits.nextSetBit(mask, id + 1)) {
+            long[] row = neighborhoods[id];
+            for (int i = 0; i < neighborhood.length; i++) {
+                neighborhood[i] |= row[i];
+            }
+        }
+        for (int i = 0; i < neighborhood.length; i++) {
+            neighborhood[i] &= ~mask[i];
+        }
+
+        return toSet(neighborhood);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public boolean isAdjacent(T a, T b) {
+        assert contains(a);
+        assert contains(b);
+
+        int to = universe.indexOf(b);
+        return Bits.get(neighborhoods[universe.indexOf(a)], to);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public boolean hasPath(T a, T b) {
+        assert contains(a);
+        assert contains(b);
+
+        int target = universe.indexOf(b);
+        long[] marked = new long[vertices.length];
+        int[] queue = new int[universe.size()];
+        int head = 0, tail = 0;
+
+        queue[tail++] = universe.indexOf(a);
+        Bits.set(marked, queue[0]);
+
+        while (head < tail) {
+            int vertex = queue[head++];
+            if (vertex == target) return true;
+
+            long[] row = neighborhoods[vertex];
+            for (int i = 0; i < row.length; i++) {
+                long unmarked = row[i] & ~marked[i];
+                marked[i] |= unmarked;
+                while (unmarked != 0) {
+                    queue[tail++] = (i << 6) + Long.numberOfTrailingZeros(unmarked);
+                    unmarked &= unmarked - 1;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<Set<T>> components() {
+        java.util.Set<Set<T>> components = new HashSet<>();
+        long[] unmarked = vertices.clone();
+        int[] queue = new int[universe.size()];
+
+        for (int start = Bits.nextSetBit(unmarked, 0); start >= 0; start = Bits.nextSetBit(unmarked, start + 1)) {
+            long[] component = new long[vertices.length];
+            int head = 0, tail = 0;
+
+            queue[tail++] = start;
+            Bits.set(component, start);
+            Bits.clear(unmarked, start);
+
+            while (head < tail) {
+                long[] row = neighborhoods[queue[head++]];
+                for (int i = 0; i < row.length; i++) {
+                    long found = row[i] & unmarked[i];
+                    unmarked[i] &= ~found;
+                    component[i] |= found;
+                    while (found != 0) {
+                        queue[tail++] = (i << 6) + Long.numberOfTrailingZeros(found);
+                        found &= found - 1;
+                    }
+                }
+            }
+            components.add(toSet(component));
+        }
+
+        return Set.of(components);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public IntGraph<T> toIntGraph() {
+        if (intGraph == null) intGraph = new IntGraph<>(this);
+        return intGraph;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Graph<T> removeEdges(Set<Edge<T>> edges) {
+        long[][] copy = null;
+        boolean[] copied = null;
+        long fingerprint = this.fingerprint;
+
+        for (Edge<T> e : edges) {
+            assert contains(e.from);
+            assert contains(e.to);
+
+            int from = universe.indexOf(e.from), to = universe.indexOf(e.to);
+            if (Bits.get(neighborhoods[from], to)) {
+                if (copy == null) {
+                    copy = neighborhoods.clone();
+                    copied = new boolean[copy.length];
+                }
+                Bits.clear(copyRow(copy, copied, from), to);
+                Bits.clear(copyRow(copy, copied, to), from);
+                if (fingerprint != 0) fingerprint ^= Fingerprint.edge(e);
+            }
+        }
+
+        return copy != null ? new BitSetGraph<>(universe, vertices, copy, fingerprint) : this;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Graph<T> addEdge(Edge<T> e) {
+        assert contains(e.from);
+        assert contains(e.to);
+
+        int from = universe.indexOf(e.from), to = universe.indexOf(e.to);
+        if (Bits.get(neighborhoods[from], to)) return this;
+
+        long[][] copy = neighborhoods.clone();
+        copy[from] = copy[from].clone();
+        copy[to] = copy[to].clone();
+        Bits.set(copy[from], to);
+        Bits.set(copy[to], from);
+
+        return new BitSetGraph<>(universe, vertices, copy, fingerprint != 0 ? fingerprint ^ Fingerprint.edge(e) : 0);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Graph<T> addEdges(Set<Edge<T>> edges) {
+        long[][] copy = null;
+        boolean[] copied = null;
+        long fingerprint = this.fingerprint;
+
+        for (Edge<T> e : edges) {
+            assert contains(e.from);
+            assert contains(e.to);
+
+            int from = universe.indexOf(e.from), to = universe.indexOf(e.to);
+            if (!Bits.get(neighborhoods[from], to)) {
+                if (copy == null) {
+                    copy = neighborhoods.clone();
+                    copied = new boolean[copy.length];
+                }
+                Bits.set(copyRow(copy, copied, from), to);
+                Bits.set(copyRow(copy, copied, to), from);
+                if (fingerprint != 0) fingerprint ^= Fingerprint.edge(e);
+            }
+        }
+
+        return copy != null ? new BitSetGraph<>(universe, vertices, copy, fingerprint) : this;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Graph<T> addEdges(PackedEdgeSet edges, Universe<T> universe) {
+        if (universe != this.universe) return Graph.super.addEdges(edges, universe);
+
+        long[][] copy = neighborhoods.clone();
+        boolean[] copied = new boolean[copy.length];
+        long[] fingerprint = {this.fingerprint};
+        edges.forEach(edge -> {
+            int from = PackedEdgeSet.from(edge), to = PackedEdgeSet.to(edge);
+            if (!Bits.get(copy[from], to)) {
+                Bits.set(copyRow(copy, copied, from), to);
+                Bits.set(copyRow(copy, copied, to), from);
+                if (fingerprint[0] != 0) fingerprint[0] ^= Fingerprint.edge(universe.get(from), universe.get(to));
+            }
+        });
+        return new BitSetGraph<>(universe, vertices, copy, fingerprint[0]);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Graph<T> inducedBy(Set<T> vertices) {
+        assert vertices.isSubsetOf(getVertices());
+
+        long[] mask = toBits(vertices);
+        if (Arrays.equals(mask, this.vertices)) return this;
+
+        long[][] copy = new long[neighborhoods.length][];
+        for (int id = Bits.nextSetBit(mask, 0); id >= 0; id = Bits.nextSetBit(mask, id + 1)) {
+            long[] row = neighborhoods[id].clone();
+            for (int i = 0; i < row.length; i++) {
+                row[i] &= mask[i];
+            }
+            copy[id] = row;
+        }
+
+        return new BitSetGraph<>(universe, mask, copy, inducedFingerprint(mask));
+    }
+
+    /**
+     * Removes the keys of the vertices not in mask, and of their edges, from the fingerprint, when that is cheaper
+     * than computing the fingerprint of the induced graph from scratch.
+     */
+    @Contract(pure = true)
+    private long inducedFingerprint(long[] mask) {
+        if (fingerprint == 0) return 0;
+        long[] removed = vertices.clone();
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] &= ~mask[i];
+        }
+        if (Bits.cardinality(removed) > Bits.cardinality(mask)) return 0;
+
+        long fingerprint = this.fingerprint;
+        for (int id = Bits.nextSetBit(removed, 0); id >= 0; id = Bits.nextSetBit(removed, id + 1)) {
+            T vertex = universe.get(id);
+            fingerprint ^= Fingerprint.vertex(vertex);
+            long[] row = neighborhoods[id];
+            for (int neighbor = Bits.nextSetBit(row, 0); neighbor >= 0; neighbor = Bits.nextSetBit(row, neighbor + 1)) {
+                if (neighbor > id || !Bits.get(removed, neighbor)) {
+                    fingerprint ^= Fingerprint.edge(vertex, universe.get(neighbor));
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<Edge<T>> getEdges() {
+        java.util.Set<Edge<T>> edges = new HashSet<>();
+
+        for (int from = Bits.nextSetBit(vertices, 0); from >= 0; from = Bits.nextSetBit(vertices, from + 1)) {
+            long[] row = neighborhoods[from];
+            for (int to = Bits.nextSetBit(row, from + 1); to >= 0; to = Bits.nextSetBit(row, to + 1)) {
+                edges.add(new Edge<>(universe.get(from), universe.get(to)));
+            }
+        }
+
+        return Set.of(edges);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<Edge<T>> getNonEdges() {
+        java.util.Set<Edge<T>> nonEdges = new HashSet<>();
+
+        for (int from = Bits.nextSetBit(vertices, 0); from >= 0; from = Bits.nextSetBit(vertices, from + 1)) {
+            long[] row = neighborhoods[from];
+            for (int to = Bits.nextSetBit(vertices, from + 1); to >= 0; to = Bits.nextSetBit(vertices, to + 1)) {
+                if (!Bits.get(row, to)) {
+                    nonEdges.add(new Edge<>(universe.get(from), universe.get(to)));
+                }
+            }
+        }
+
+        return Set.of(nonEdges);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public PackedEdgeSet getEdges(Universe<T> universe) {
+        if (universe != this.universe) return Graph.super.getEdges(universe);
+
+        PackedEdgeSet edges = new PackedEdgeSet();
+        for (int from = Bits.nextSetBit(vertices, 0); from >= 0; from = Bits.nextSetBit(vertices, from + 1)) {
+            long[] row = neighborhoods[from];
+            for (int to = Bits.nextSetBit(row, from + 1); to >= 0; to = Bits.nextSetBit(row, to + 1)) {
+                edges.add(from, to);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public PackedEdgeSet getNonEdges(Universe<T> universe) {
+        if (universe != this.universe) return Graph.super.getNonEdges(universe);
+        return cliqueify(vertices, new PackedEdgeSet(getNumberOfNonEdges()));
+    }
+
+    @Override
+    @Contract(pure = true)
+    public PackedEdgeSet cliqueify(Set<T> vertices, Universe<T> universe) {
+        if (universe != this.universe) return Graph.super.cliqueify(vertices, universe);
+        assert vertices.isSubsetOf(getVertices());
+
+        return cliqueify(toBits(vertices), new PackedEdgeSet());
+    }
+
+    /**
+     * Adds the non-adjacent pairs of mask to fill.
+     */
+    private PackedEdgeSet cliqueify(long[] mask, PackedEdgeSet fill) {
+        for (int from = Bits.nextSetBit(mask, 0); from >= 0; from = Bits.nextSetBit(mask, from + 1)) {
+            long[] row = neighborhoods[from];
+            for (int to = Bits.nextSetBit(mask, from + 1); to >= 0; to = Bits.nextSetBit(mask, to + 1)) {
+                if (!Bits.get(row, to)) fill.add(from, to);
+            }
+        }
+        return fill;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int getNumberOfEdges() {
+        long degrees = 0;
+        for (int id = Bits.nextSetBit(vertices, 0); id >= 0; id = Bits.nextSetBit(vertices, id + 1)) {
+            for (long word : neighborhoods[id]) {
+                degrees += Long.bitCount(word);
+            }
+        }
+        return (int) (degrees / 2);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int getNumberOfNonEdges() {
+        long n = 0, degrees = 0;
+        for (int id = Bits.nextSetBit(vertices, 0); id >= 0; id = Bits.nextSetBit(vertices, id + 1)) {
+            n++;
+            for (long word : neighborhoods[id]) {
+                degrees += Long.bitCount(word);
+            }
+        }
+        return (int) (n * (n - 1) / 2 - degrees / 2);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public Set<Edge<T>> cliqueify(Set<T> vertices) {
+        assert vertices.isSubsetOf(getVertices());
+
+        java.util.Set<Edge<T>> fill = new HashSet<>();
+        long[] mask = toBits(vertices);
+
+        for (int from = Bits.nextSetBit(mask, 0); from >= 0; from = Bits.nextSetBit(mask, from + 1)) {
+            long[] row = neighborhoods[from];
+            for (int to = Bits.nextSetBit(mask, from + 1); to >= 0; to = Bits.nextSetBit(mask, to + 1)) {
+                if (!Bits.get(row, to)) {
+                    fill.add(new Edge<>(universe.get(from), universe.get(to)));
+                }
+            }
+        }
+
+        return Set.of(fill);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public boolean isClique() {
+        return isClique(vertices);
+    }
+
+    @Override
+    @Contract(pure = true)
+    public boolean isClique(Set<T> vertices) {
+        assert vertices.isSubsetOf(getVertices());
+        return isClique(toBits(vertices));
+    }
+
+    private boolean isClique(long[] mask) {
+        for (int id = Bits.nextSetBit(mask, 0); id >= 0; id = Bits.nextSetBit(mask, id + 1)) {
+            long[] row = neighborhoods[id];
+            for (int i = 0; i < mask.length; i++) {
+                long missing = mask[i] & ~row[i];
+                if (i == id >>> 6) missing &= ~(1L << id); // a vertex is not its own neighbor
+                if (missing != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public ChordalGraph<T> minimalTriangulation() {
+        if (isChordal()) return new BitSetChordalGraph<>(universe, vertices, neighborhoods);
+        long[][] copy = neighborhoods.clone();
+        boolean[] copied = new boolean[copy.length];
+
+        for (Edge<T> edge : maximumCardinalitySearchM().b) {
+            int from = universe.indexOf(edge.from), to = universe.indexOf(edge.to);
+            Bits.set(copyRow(copy, copied, from), to);
+            Bits.set(copyRow(copy, copied, to), from);
+        }
+
+        return new BitSetChordalGraph<>(universe, vertices, copy);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        BitSetGraph<?> that = (BitSetGraph<?>) o;
+
+        if (universe != that.universe || fingerprint() != that.fingerprint()) return false;
+        if (!Arrays.equals(vertices, that.vertices)) return false;
+        for (int id = Bits.nextSetBit(vertices, 0); id >= 0; id = Bits.nextSetBit(vertices, id + 1)) {
+            if (!Arrays.equals(neighborhoods[id], that.neighborhoods[id])) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint());
+    }
+
+    @Override
+    @Contract(pure = true)
+    public long fingerprint() {
+        if (fingerprint == 0) {
+            long result = 0;
+            for (int id = Bits.nextSetBit(vertices, 0); id >= 0; id = Bits.nextSetBit(vertices, id + 1)) {
+                T vertex = universe.get(id);
+                result ^= Fingerprint.vertex(vertex);
+                long[] row = neighborhoods[id];
+                for (int neighbor = Bits.nextSetBit(row, id + 1); neighbor >= 0; neighbor = Bits.nextSetBit(row, neighbor + 1)) {
+                    result ^= Fingerprint.edge(vertex, universe.get(neighbor));
+                }
+            }
+            fingerprint = result;
+        }
+        return fingerprint;
+    }
+
+    private boolean contains(T vertex) {
+        int id = universe.indexOf(vertex);
+        return id >= 0 && Bits.get(vertices, id);
+    }
+
+    /**
+     * @return The ids of vertices as a bitset. May be the words of a BitSetSet, so it must not be modified.
+     */
+    private long[] toBits(Set<T> vertices) {
+        if (vertices instanceof BitSetSet && ((BitSetSet<T>) vertices).getUniverse() == universe) {
+            return ((BitSetSet<T>) vertices).words();
+        }
+
+        long[] bits = new long[this.vertices.length];
+        for (T vertex : vertices) {
+            int id = universe.indexOf(vertex);
+            Bits.set(bits, id);
+        }
+        return bits;
+    }
+
+    private Set<T> toSet(long[] bits) {
+        return BitSetSet.of(universe, bits);
+    }
+
+    private static long[] copyRow(long[][] rows, boolean[] copied, int id) {
+        if (!copied[id]) {
+            rows[id] = rows[id].clone();
+            copied[id] = true;
+        }
+        return rows[id];
+    }
+}
@@ -0,0 +1,53 @@
+package minfill.graphs.bitset;
+
+import minfill.graphs.Neighborhood;
+import minfill.sets.BitSetSet;
+import minfill.sets.Bits;
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class BitSetNeighborhood<T extends Comparable<T>> implements Neighborhood<T> {
+    private final Universe<T> universe;
+    private final long[] neighborhood;
+
+    public BitSetNeighborhood(Universe<T> universe, long[] neighborhood) {
+        this.universe = universe;
+        this.neighborhood = neighborhood;
+    }
+
+    @Override
+    public boolean contains(T vertex) {
+        int id = universe.indexOf(vertex);
+        return id >= 0 && Bits.get(neighborhood, id);
+    }
+
+    @Override
+    public Set<T> toSet() {
+        return BitSetSet.of(universe, neighborhood);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = Bits.nextSetBit(neighborhood, 0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (next < 0) throw new NoSuchElementException();
+                T vertex = universe.get(next);
+                next = Bits.nextSetBit(neighborhood, next + 1);
+                return vertex;
+            }
+        };
+    }
+}
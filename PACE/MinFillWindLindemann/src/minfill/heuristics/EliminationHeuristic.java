@@ -0,0 +1,65 @@
+package minfill.heuristics;
+
+import minfill.graphs.IntGraph;
+import minfill.sets.Bits;
+import org.jetbrains.annotations.Contract;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Elimination game: repeatedly pick the best scoring remaining vertex and make its remaining neighbors a clique.
+ * The resulting triangulation need not be minimal, so it is minimalized afterwards.
+ * Scores only change for the eliminated vertex' neighbors and their neighbors, so only those are recomputed.
+ */
+public abstract class EliminationHeuristic extends TriangulationHeuristic {
+    /**
+     * @return The score of v in h restricted to the alive vertices. Lower is better.
+     */
+    @Contract(pure = true)
+    protected abstract long score(long[][] h, long[] alive, int v);
+
+    @Override
+    protected long[][] triangulate(IntGraph<?> g, BooleanSupplier stopped) {
+        int n = g.size(), words = (n + 63) >>> 6;
+        long[][] g0 = Triangulations.adjacency(g), h = Triangulations.adjacency(g);
+        long[] alive = new long[words], neighborhood = new long[words], dirty = new long[words];
+        long[] score = new long[n];
+
+        for (int v = 0; v < n; v++) {
+            Bits.set(alive, v);
+        }
+        for (int v = 0; v < n; v++) {
+            score[v] = score(h, alive, v);
+        }
+
+        for (int step = 0; step < n; step++) {
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            int x = -1;
+            for (int v = Bits.nextSetBit(alive, 0); v >= 0; v = Bits.nextSetBit(alive, v + 1)) {
+                if (x < 0 || score[v] < score[x]) x = v;
+            }
+            Bits.clear(alive, x);
+
+            for (int i = 0; i < words; i++) {
+                neighborhood[i] = h[x][i] & alive[i];
+            }
+            Triangulations.saturate(h, neighborhood);
+
+            System.arraycopy(neighborhood, 0, dirty, 0, words);
+            for (int v = Bits.nextSetBit(neighborhood, 0); v >= 0; v = Bits.nextSetBit(neighborhood, v + 1)) {
+                for (int i = 0; i < words; i++) {
+                    dirty[i] |= h[v][i];
+                }
+            }
+            for (int i = 0; i < words; i++) {
+                dirty[i] &= alive[i];
+            }
+            for (int v = Bits.nextSetBit(dirty, 0); v >= 0; v = Bits.nextSetBit(dirty, v + 1)) {
+                score[v] = score(h, alive, v);
+            }
+        }
+
+        return Triangulations.minimalize(g0, h);
+    }
+}
@@ -0,0 +1,97 @@
+package minfill.heuristics;
+
+import minfill.IO;
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.sets.Set;
+import org.jetbrains.annotations.Contract;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs the triangulation heuristics and keeps the smallest fill, giving an upper bound (and a solution meeting it)
+ * for the exact search. Min-degree, by far the cheapest, always runs. The others run from cheapest to most expensive
+ * as long as there is time, as on graphs of thousands of vertices LB-Triang and min-fill take minutes.
+ */
+public class Heuristics {
+    private static final TriangulationHeuristic minDegree = new MinDegreeElimination();
+    private static final List<TriangulationHeuristic> heuristics = Arrays.asList(
+            minDegree,
+            new McsM(),
+            new LexM(),
+            new LBTriang(),
+            new MinFillElimination()
+    );
+
+    // The others may take this many times as long as min-degree, but at least minimumBudget.
+    private static final int budgetFactor = 10;
+    private static final long minimumBudget = TimeUnit.SECONDS.toNanos(1);
+
+    private Heuristics() {}
+
+    /**
+     * @return Every heuristic, cheapest first.
+     */
+    @Contract(pure = true)
+    public static List<TriangulationHeuristic> all() {
+        return heuristics;
+    }
+
+    /**
+     * @return The min-degree fill of g, a minimal triangulation.
+     */
+    @Contract(pure = true)
+    public static <T extends Comparable<T>> Set<Edge<T>> fastFill(Graph<T> g) {
+        Set<Edge<T>> fill = minDegree.fill(g);
+        IO.printf("%s: %d\n", minDegree.name(), fill.size());
+        return fill;
+    }
+
+    @Contract(pure = true)
+    public static <T extends Comparable<T>> Set<Edge<T>> bestFill(Graph<T> g) {
+        long start = System.nanoTime();
+        Set<Edge<T>> fill = fastFill(g);
+        return bestFill(g, fill, timeBound(start), better -> {});
+    }
+
+    /**
+     * @param start When the min-degree fills were started. To be called once they are done.
+     * @return A stop check holding once the other heuristics have had ten times as long as min-degree, and at least a
+     *         second.
+     */
+    public static BooleanSupplier timeBound(long start) {
+        long deadline = start + Math.max(minimumBudget, (budgetFactor + 1) * (System.nanoTime() - start));
+        return () -> System.nanoTime() - deadline > 0;
+    }
+
+    /**
+     * Runs the heuristics other than min-degree, cheapest first, until stopped holds, stopping the one running.
+     * @param fill A minimal triangulation of g, e.g. fastFill(g).
+     * @param improved Called with every fill smaller than the smallest before it.
+     * @return The smallest fill found, or fill if none is smaller.
+     */
+    public static <T extends Comparable<T>> Set<Edge<T>> bestFill(Graph<T> g, Set<Edge<T>> fill, BooleanSupplier stopped, Consumer<Set<Edge<T>>> improved) {
+        Set<Edge<T>> best = fill;
+        for (TriangulationHeuristic heuristic : heuristics) {
+            if (heuristic == minDegree) continue;
+            if (stopped.getAsBoolean()) break;
+            try {
+                Set<Edge<T>> candidate = heuristic.fill(g, stopped);
+                IO.printf("%s: %d\n", heuristic.name(), candidate.size());
+                if (candidate.size() < best.size()) {
+                    best = candidate;
+                    improved.accept(best);
+                }
+            } catch (CancellationException e) {
+                IO.printf("%s: stopped\n", heuristic.name());
+                break;
+            }
+        }
+        return best;
+    }
+}
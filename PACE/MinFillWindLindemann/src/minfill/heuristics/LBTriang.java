@@ -0,0 +1,106 @@
+package minfill.heuristics;
+
+import minfill.graphs.IntGraph;
+import minfill.sets.Bits;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * LB-Triang (Berry). The vertices are processed in order of increasing degree in the current triangulation H, and for
+ * every component C of H - N[x] the neighborhood N(C) is made a clique. Every such N(C) is a minimal separator, so
+ * the result is a minimal triangulation whatever the order.
+ * Degrees only grow, and only those of the saturated separators change, so they are kept in a bucket queue whose
+ * minimum only moves up, and the components are searched a word at a time.
+ */
+public class LBTriang extends TriangulationHeuristic {
+    @Override
+    public String name() {
+        return "LB-Triang";
+    }
+
+    @Override
+    protected long[][] triangulate(IntGraph<?> g, BooleanSupplier stopped) {
+        int n = g.size(), words = (n + 63) >>> 6;
+        long[][] h = Triangulations.adjacency(g);
+        long[] processed = new long[words], remaining = new long[words], component = new long[words], separator = new long[words];
+        int[] stack = new int[n];
+
+        // Unprocessed vertices by degree, as doubly linked lists from head[degree].
+        int[] degree = new int[n], head = new int[n], next = new int[n], previous = new int[n];
+        Arrays.fill(head, -1);
+        for (int v = 0; v < n; v++) {
+            degree[v] = g.neighbors(v).length;
+            link(head, next, previous, v, degree[v]);
+        }
+        int lowest = 0;
+
+        for (int step = 0; step < n; step++) {
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            while (head[lowest] < 0) lowest++;
+            int x = head[lowest];
+            unlink(head, next, previous, x, lowest);
+            Bits.set(processed, x);
+
+            for (int v = 0; v < n; v++) {
+                Bits.set(remaining, v);
+            }
+            for (int i = 0; i < words; i++) {
+                remaining[i] &= ~h[x][i];
+            }
+            Bits.clear(remaining, x);
+
+            for (int start = Bits.nextSetBit(remaining, 0); start >= 0; start = Bits.nextSetBit(remaining, 0)) {
+                Arrays.fill(component, 0);
+                Arrays.fill(separator, 0);
+                int size = 0;
+                stack[size++] = start;
+                Bits.clear(remaining, start);
+
+                while (size > 0) {
+                    int v = stack[--size];
+                    Bits.set(component, v);
+                    long[] row = h[v];
+                    for (int i = 0; i < words; i++) {
+                        separator[i] |= row[i];
+                        long reached = row[i] & remaining[i];
+                        remaining[i] &= ~reached;
+                        for (; reached != 0; reached &= reached - 1) {
+                            stack[size++] = (i << 6) + Long.numberOfTrailingZeros(reached);
+                        }
+                    }
+                }
+
+                for (int i = 0; i < words; i++) {
+                    separator[i] &= ~component[i];
+                }
+                Triangulations.saturate(h, separator);
+
+                for (int v = Bits.nextSetBit(separator, 0); v >= 0; v = Bits.nextSetBit(separator, v + 1)) {
+                    if (Bits.get(processed, v)) continue;
+                    int d = Bits.cardinality(h[v]);
+                    if (d == degree[v]) continue;
+                    unlink(head, next, previous, v, degree[v]);
+                    degree[v] = d;
+                    link(head, next, previous, v, d);
+                }
+            }
+        }
+
+        return h;
+    }
+
+    private static void link(int[] head, int[] next, int[] previous, int v, int degree) {
+        next[v] = head[degree];
+        previous[v] = -1;
+        if (head[degree] >= 0) previous[head[degree]] = v;
+        head[degree] = v;
+    }
+
+    private static void unlink(int[] head, int[] next, int[] previous, int v, int degree) {
+        if (previous[v] >= 0) next[previous[v]] = next[v];
+        else head[degree] = next[v];
+        if (next[v] >= 0) previous[next[v]] = previous[v];
+    }
+}
@@ -0,0 +1,95 @@
+package minfill.heuristics;
+
+import minfill.graphs.IntGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * LEX M (Rose, Tarjan and Lueker) in O(nm). Like MCS-M, but the vertices are chosen by lexicographically largest
+ * label instead of largest weight. Labels are kept as integer ranks: an updated label gets rank 2r+1 and an untouched
+ * one 2r, after which the ranks are compacted again by a counting sort.
+ */
+public class LexM extends TriangulationHeuristic {
+    @Override
+    public String name() {
+        return "LEX M";
+    }
+
+    @Override
+    protected long[][] triangulate(IntGraph<?> g, BooleanSupplier stopped) {
+        int n = g.size();
+        long[][] h = Triangulations.adjacency(g);
+        int[] label = new int[n];
+        boolean[] numbered = new boolean[n];
+        int[] reached = new int[n];
+        int[] updated = new int[n];
+        int[] rank = new int[2 * n + 1];
+        int[][] reach = new int[n][];
+        int[] reachSize = new int[n];
+
+        for (int step = 1, i = n - 1; i >= 0; step++, i--) {
+            if (stopped.getAsBoolean()) throw new CancellationException();
+            int v = -1;
+            for (int u = 0; u < n; u++) {
+                if (!numbered[u] && (v < 0 || label[u] > label[v])) v = u;
+            }
+            numbered[v] = true;
+            reached[v] = step;
+
+            int updates = 0;
+            for (int u : g.neighbors(v)) {
+                if (!numbered[u]) {
+                    reached[u] = step;
+                    updated[updates++] = u;
+                    push(reach, reachSize, label[u], u);
+                }
+            }
+
+            for (int j = 0; j < n; j++) {
+                while (reachSize[j] > 0) {
+                    int x = reach[j][--reachSize[j]];
+                    for (int z : g.neighbors(x)) {
+                        if (numbered[z] || reached[z] == step) continue;
+                        reached[z] = step;
+
+                        if (label[z] > j) {
+                            push(reach, reachSize, label[z], z);
+                            updated[updates++] = z;
+                            Triangulations.addEdge(h, v, z);
+                        } else {
+                            push(reach, reachSize, j, z);
+                        }
+                    }
+                }
+            }
+
+            for (int u = 0; u < n; u++) {
+                if (!numbered[u]) label[u] *= 2;
+            }
+            for (int k = 0; k < updates; k++) {
+                label[updated[k]]++;
+            }
+
+            Arrays.fill(rank, 0);
+            for (int u = 0; u < n; u++) {
+                if (!numbered[u]) rank[label[u]] = 1;
+            }
+            for (int r = 0, next = 0; r < rank.length; r++) {
+                if (rank[r] != 0) rank[r] = next++;
+            }
+            for (int u = 0; u < n; u++) {
+                if (!numbered[u]) label[u] = rank[label[u]];
+            }
+        }
+
+        return h;
+    }
+
+    private static void push(int[][] stacks, int[] sizes, int stack, int v) {
+        if (stacks[stack] == null) stacks[stack] = new int[4];
+        else if (sizes[stack] == stacks[stack].length) stacks[stack] = Arrays.copyOf(stacks[stack], 2 * sizes[stack]);
+        stacks[stack][sizes[stack]++] = v;
+    }
+}
@@ -0,0 +1,24 @@
+package minfill.heuristics;
+
+import minfill.graphs.IntGraph;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * MCS-M, using the O(nm) search of IntGraph, which runs to the end once started.
+ */
+public class McsM extends TriangulationHeuristic {
+    @Override
+    public String name() {
+        return "MCS-M";
+    }
+
+    @Override
+    protected long[][] triangulate(IntGraph<?> g, BooleanSupplier stopped) {
+        long[][] h = Triangulations.adjacency(g);
+        for (int[] edge : g.maximumCardinalitySearchM().b) {
+            Triangulations.addEdge(h, edge[0], edge[1]);
+        }
+        return h;
+    }
+}
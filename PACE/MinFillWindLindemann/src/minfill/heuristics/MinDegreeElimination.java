@@ -0,0 +1,21 @@
+package minfill.heuristics;
+
+/**
+ * Eliminates a vertex of minimum remaining degree first.
+ */
+public class MinDegreeElimination extends EliminationHeuristic {
+    @Override
+    public String name() {
+        return "min-degree";
+    }
+
+    @Override
+    protected long score(long[][] h, long[] alive, int v) {
+        long[] row = h[v];
+        int degree = 0;
+        for (int i = 0; i < row.length; i++) {
+            degree += Long.bitCount(row[i] & alive[i]);
+        }
+        return degree;
+    }
+}
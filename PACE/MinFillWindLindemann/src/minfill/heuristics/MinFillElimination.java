@@ -0,0 +1,30 @@
+package minfill.heuristics;
+
+import minfill.sets.Bits;
+
+/**
+ * Eliminates a vertex adding the fewest fill edges first, breaking ties by remaining degree.
+ */
+public class MinFillElimination extends EliminationHeuristic {
+    @Override
+    public String name() {
+        return "min-fill";
+    }
+
+    @Override
+    protected long score(long[][] h, long[] alive, int v) {
+        long[] row = h[v];
+        long missing = 0;
+        int degree = 0;
+        for (int u = Bits.nextSetBit(row, 0); u >= 0; u = Bits.nextSetBit(row, u + 1)) {
+            if (!Bits.get(alive, u)) continue;
+            degree++;
+            long[] other = h[u];
+            for (int i = 0; i < row.length; i++) {
+                missing += Long.bitCount(row[i] & alive[i] & ~other[i]);
+            }
+            missing--; // u itself
+        }
+        return (missing / 2) * (row.length * 64L + 1) + degree;
+    }
+}
@@ -0,0 +1,39 @@
+package minfill.heuristics;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.IntGraph;
+import minfill.sets.Set;
+import org.jetbrains.annotations.Contract;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fast way of computing some minimal triangulation of a graph. The size of its fill is an upper bound on the
+ * minimum fill-in.
+ */
+public abstract class TriangulationHeuristic {
+    @Contract(pure = true)
+    public abstract String name();
+
+    /**
+     * @param stopped Checked once per vertex processed. Throws CancellationException once it holds.
+     * @return The adjacency bitsets, over the ids of g, of a minimal triangulation of g.
+     */
+    @Contract(pure = true)
+    protected abstract long[][] triangulate(IntGraph<?> g, BooleanSupplier stopped);
+
+    @Contract(pure = true)
+    public <T extends Comparable<T>> Set<Edge<T>> fill(Graph<T> g) {
+        return fill(g, () -> false);
+    }
+
+    /**
+     * @param stopped Throws CancellationException once it holds.
+     */
+    @Contract(pure = true)
+    public <T extends Comparable<T>> Set<Edge<T>> fill(Graph<T> g, BooleanSupplier stopped) {
+        IntGraph<T> graph = g.toIntGraph();
+        return Triangulations.fillEdges(graph, triangulate(graph, stopped));
+    }
+}
@@ -0,0 +1,101 @@
+package minfill.heuristics;
+
+import minfill.graphs.Edge;
+import minfill.graphs.IntGraph;
+import minfill.sets.Bits;
+import minfill.sets.Set;
+
+import java.util.HashSet;
+
+/**
+ * Helpers shared by the heuristics, working on adjacency bitsets over the ids of an IntGraph.
+ */
+class Triangulations {
+    private Triangulations() {}
+
+    static long[][] adjacency(IntGraph<?> g) {
+        int n = g.size(), words = (n + 63) >>> 6;
+        long[][] rows = new long[n][words];
+        for (int v = 0; v < n; v++) {
+            for (int u : g.neighbors(v)) {
+                Bits.set(rows[v], u);
+            }
+        }
+        return rows;
+    }
+
+    static void addEdge(long[][] rows, int u, int v) {
+        Bits.set(rows[u], v);
+        Bits.set(rows[v], u);
+    }
+
+    /**
+     * Makes vertices a clique in rows.
+     */
+    static void saturate(long[][] rows, long[] vertices) {
+        for (int v = Bits.nextSetBit(vertices, 0); v >= 0; v = Bits.nextSetBit(vertices, v + 1)) {
+            long[] row = rows[v];
+            for (int i = 0; i < row.length; i++) {
+                row[i] |= vertices[i];
+            }
+            Bits.clear(row, v);
+        }
+    }
+
+    static boolean isClique(long[][] rows, long[] vertices) {
+        for (int v = Bits.nextSetBit(vertices, 0); v >= 0; v = Bits.nextSetBit(vertices, v + 1)) {
+            long[] row = rows[v];
+            for (int i = 0; i < row.length; i++) {
+                long missing = vertices[i] & ~row[i];
+                if (i == v >>> 6) missing &= ~(1L << v);
+                if (missing != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes fill edges from the triangulation h of g until it is minimal. By Rose, Tarjan and Lueker a fill edge
+     * uv can be removed, keeping h chordal, iff the common neighbors of u and v form a clique, and h is a minimal
+     * triangulation iff no fill edge can be removed.
+     */
+    static long[][] minimalize(long[][] g, long[][] h) {
+        int n = h.length;
+        long[] common = new long[n == 0 ? 0 : h[0].length];
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                for (int v = Bits.nextSetBit(h[u], u + 1); v >= 0; v = Bits.nextSetBit(h[u], v + 1)) {
+                    if (Bits.get(g[u], v)) continue;
+
+                    for (int i = 0; i < common.length; i++) {
+                        common[i] = h[u][i] & h[v][i];
+                    }
+                    if (isClique(h, common)) {
+                        Bits.clear(h[u], v);
+                        Bits.clear(h[v], u);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return h;
+    }
+
+    static <T extends Comparable<T>> Set<Edge<T>> fillEdges(IntGraph<T> g, long[][] h) {
+        java.util.Set<Edge<T>> fill = new HashSet<>();
+        for (int u = 0; u < h.length; u++) {
+            int[] neighbors = g.neighbors(u);
+            long[] added = h[u].clone();
+            for (int v : neighbors) {
+                Bits.clear(added, v);
+            }
+            for (int v = Bits.nextSetBit(added, u + 1); v >= 0; v = Bits.nextSetBit(added, v + 1)) {
+                fill.add(new Edge<>(g.vertex(u), g.vertex(v)));
+            }
+        }
+        return Set.of(fill);
+    }
+}
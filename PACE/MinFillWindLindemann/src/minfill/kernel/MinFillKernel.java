@@ -1,7 +1,9 @@
 package minfill.kernel;
 
+import minfill.graphs.ChordalityCertificate;
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
+import minfill.graphs.MutableIntGraph;
 import minfill.tuples.Pair;
 import minfill.sets.Set;
 import minfill.tuples.Triple;
@@ -9,6 +11,7 @@ import minfill.tuples.Tuple;
 import org.jetbrains.annotations.Contract;
 
 import java.util.*;
+import java.util.function.IntFunction;
 
 public class MinFillKernel<T extends Comparable<T>> implements MinimumFillKernel<T> {
     @Override
@@ -17,20 +20,23 @@ public class MinFillKernel<T extends Comparable<T>> implements MinimumFillKernel
         Set<T> A = Set.empty(), B = g.getVertices();
         int kMin = 0;
 
-        // P1
+        // P1, deleting the cycles found from a working copy of g, which is then g[B].
+        MutableIntGraph<T> working = new MutableIntGraph<>(g);
         boolean cycleFound;
         do {
             cycleFound = false;
-            Optional<List<T>> cycle = g.inducedBy(B).findChordlessCycle();
+            Optional<List<T>> cycle = new ChordalityCertificate<>(working).chordlessCycle();
             if (cycle.isPresent()) {
                 cycleFound = true;
                 Set<T> cycleSet = Set.of(cycle.get());
                 assert cycleSet.size() >= 4;
+                assert !g.inducedBy(cycleSet).isChordal();
 
                 kMin += cycleSet.size() - 3;
 
                 A = A.union(cycleSet);
                 B = B.minus(cycleSet);
+                working.delete(cycleSet);
             }
         } while (cycleFound);
 
@@ -105,7 +111,24 @@ public class MinFillKernel<T extends Comparable<T>> implements MinimumFillKernel
     @Override
     @Contract(pure = true)
     public Optional<Pair<Graph<T>, Integer>> kernelProcedure3(Graph<T> g, Set<T> A, Set<T> B, int k) {
+        return kernelProcedure3(g, A, B).apply(k);
+    }
+
+    /**
+     * The runs for different k share which b in B witness a non-edge xy, i.e. have an x,y-path avoiding N[b].
+     * Tests are only remembered while no edge has been added, as they are then done in g itself. A witness stays one
+     * in any run: the added edges have both ends in A, so N(b) is unchanged, and edges only create paths. A non-witness
+     * may become one once edges are added, so it is only reused while nothing has been added.
+     */
+    @Override
+    public IntFunction<Optional<Pair<Graph<T>, Integer>>> kernelProcedure3(Graph<T> g, Set<T> A, Set<T> B) {
+        Map<Edge<T>, java.util.Set<T>> witnesses = new HashMap<>(), nonWitnesses = new HashMap<>();
+        return k -> kernelProcedure3(g, A, B, k, witnesses, nonWitnesses);
+    }
+
+    private Optional<Pair<Graph<T>, Integer>> kernelProcedure3(Graph<T> g, Set<T> A, Set<T> B, int k, Map<Edge<T>, java.util.Set<T>> witnesses, Map<Edge<T>, java.util.Set<T>> nonWitnesses) {
         int kPrime = k;
+        boolean unchanged = true;
 
         // P3
         for (Edge<T> nonEdge : g.inducedBy(A).getNonEdges()) {
@@ -113,17 +136,30 @@ public class MinFillKernel<T extends Comparable<T>> implements MinimumFillKernel
 
             Set<T> bNeighbors = g.neighborhood(x).toSet().intersect(g.neighborhood(y).toSet()).intersect(B);
             java.util.Set<T> Axy = new HashSet<>();
+            java.util.Set<T> witnessing = witnesses.computeIfAbsent(nonEdge, e -> new HashSet<>());
+            java.util.Set<T> nonWitnessing = nonWitnesses.computeIfAbsent(nonEdge, e -> new HashSet<>());
 
             for (T b : bNeighbors) {
+                if (witnessing.contains(b)) {
+                    Axy.add(b);
+                    continue;
+                }
+                if (unchanged && nonWitnessing.contains(b)) continue;
+
                 Graph<T> gPrime = g.inducedBy(g.getVertices().remove(b).minus(g.neighborhood(b).toSet()).add(x).add(y));
 
-                if (gPrime.hasPath(x, y)) {
+                boolean path = gPrime.hasPath(x, y);
+                if (path) {
                     Axy.add(b);
                 }
+                if (unchanged) {
+                    (path ? witnessing : nonWitnessing).add(b);
+                }
             }
 
             if (Axy.size() > 2*k) {
                 g = g.addEdge(nonEdge);
+                unchanged = false;
                 kPrime--;
 
                 if (kPrime < 0) return Optional.empty();
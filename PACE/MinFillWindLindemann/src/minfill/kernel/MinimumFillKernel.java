@@ -7,6 +7,7 @@ import minfill.tuples.Triple;
 import org.jetbrains.annotations.Contract;
 
 import java.util.Optional;
+import java.util.function.IntFunction;
 
 public interface MinimumFillKernel<T extends Comparable<T>> {
     @Contract(pure = true)
@@ -14,4 +15,11 @@ public interface MinimumFillKernel<T extends Comparable<T>> {
 
     @Contract(pure = true)
     Optional<Pair<Graph<T>, Integer>> kernelProcedure3(Graph<T> g, Set<T> A, Set<T> B, int k);
+
+    /**
+     * @return kernelProcedure3(g, A, B, k) as a function of k, for trying several k on the same graph.
+     */
+    default IntFunction<Optional<Pair<Graph<T>, Integer>>> kernelProcedure3(Graph<T> g, Set<T> A, Set<T> B) {
+        return k -> kernelProcedure3(g, A, B, k);
+    }
 }
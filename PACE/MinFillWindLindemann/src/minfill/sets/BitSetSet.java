@@ -0,0 +1,250 @@
+package minfill.sets;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Set over a shared Universe, stored as one bit per element id.
+ * Union, intersect, minus and subset tests against another BitSetSet of the same universe are done 64 elements
+ * at a time without touching the elements themselves.
+ * Equal to any other Set with the same elements, but comparisons between two BitSetSets only compare words.
+ */
+public class BitSetSet<T> implements Set<T> {
+    private final Universe<T> universe;
+    private final long[] words;
+    private final int size;
+    private int hashCode;
+
+    private BitSetSet(Universe<T> universe, long[] words, int size) {
+        assert size > 0;
+        this.universe = universe;
+        this.words = words;
+        this.size = size;
+    }
+
+    /**
+     * @param words Bitset over the ids of universe. It is not copied, so it must not be modified afterwards.
+     */
+    @Contract(pure = true)
+    public static <T> Set<T> of(Universe<T> universe, long[] words) {
+        assert words.length == universe.words();
+        int size = Bits.cardinality(words);
+        if (size == 0) return Set.empty();
+        return new BitSetSet<>(universe, words, size);
+    }
+
+    @Contract(pure = true)
+    public Universe<T> getUniverse() {
+        return universe;
+    }
+
+    /**
+     * @return The underlying words. Must not be modified.
+     */
+    @Contract(pure = true)
+    public long[] words() {
+        return words;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public boolean isSubsetOf(Set<T> other) {
+        if (size > other.size()) return false;
+
+        BitSetSet<T> that = sameUniverse(other);
+        if (that != null) {
+            for (int i = 0; i < words.length; i++) {
+                if ((words[i] & ~that.words[i]) != 0) return false;
+            }
+            return true;
+        }
+
+        for (T element : this) {
+            if (!other.contains(element)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        int id = universe.indexOf(element);
+        return id >= 0 && Bits.get(words, id);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<T> add(T element) {
+        int id = universe.indexOf(element);
+        if (id < 0) return outsideUniverse().add(element);
+        if (Bits.get(words, id)) return this;
+
+        long[] copy = words.clone();
+        Bits.set(copy, id);
+        return new BitSetSet<>(universe, copy, size + 1);
+    }
+
+    @Override
+    public Set<T> remove(T element) {
+        int id = universe.indexOf(element);
+        if (id < 0 || !Bits.get(words, id)) return this;
+
+        long[] copy = words.clone();
+        Bits.clear(copy, id);
+        return of(universe, copy);
+    }
+
+    @Override
+    public Set<T> union(Set<T> other) {
+        if (other.isEmpty()) return this;
+
+        long[] copy = words.clone();
+        BitSetSet<T> that = sameUniverse(other);
+        if (that != null) {
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] |= that.words[i];
+            }
+        } else {
+            for (T element : other) {
+                int id = universe.indexOf(element);
+                if (id < 0) return outsideUniverse().union(other);
+                Bits.set(copy, id);
+            }
+        }
+        return of(universe, copy);
+    }
+
+    @Override
+    public Set<T> intersect(Set<T> other) {
+        if (other.isEmpty()) return other;
+
+        long[] result;
+        BitSetSet<T> that = sameUniverse(other);
+        if (that != null) {
+            result = words.clone();
+            for (int i = 0; i < result.length; i++) {
+                result[i] &= that.words[i];
+            }
+        } else {
+            result = new long[words.length];
+            for (T element : other) {
+                int id = universe.indexOf(element);
+                if (id >= 0 && Bits.get(words, id)) {
+                    Bits.set(result, id);
+                }
+            }
+        }
+        return of(universe, result);
+    }
+
+    @Override
+    public Set<T> minus(Set<T> other) {
+        if (other.isEmpty()) return this;
+
+        long[] copy = words.clone();
+        BitSetSet<T> that = sameUniverse(other);
+        if (that != null) {
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] &= ~that.words[i];
+            }
+        } else {
+            for (T element : other) {
+                int id = universe.indexOf(element);
+                if (id >= 0) Bits.clear(copy, id);
+            }
+        }
+        return of(universe, copy);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = Bits.nextSetBit(words, 0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (next < 0) throw new NoSuchElementException();
+                T element = universe.get(next);
+                next = Bits.nextSetBit(words, next + 1);
+                return element;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        List<T> elements = new ArrayList<>(size);
+        for (T element : this) {
+            elements.add(element);
+        }
+        return elements.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Set)) return false;
+
+        Set<T> other = (Set<T>) o;
+        if (size != other.size()) return false;
+
+        BitSetSet<T> that = sameUniverse(other);
+        if (that != null) return Arrays.equals(words, that.words);
+
+        for (T element : other) {
+            if (!contains(element)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same hash as a java.util.Set (and ImmutableSet) with the same elements, computed once.
+     */
+    @Override
+    public int hashCode() {
+        if (hashCode == 0) {
+            int result = 0;
+            for (T element : this) {
+                result += element.hashCode();
+            }
+            hashCode = result;
+        }
+        return hashCode;
+    }
+
+    private BitSetSet<T> sameUniverse(Set<T> other) {
+        if (other instanceof BitSetSet) {
+            BitSetSet<T> that = (BitSetSet<T>) other;
+            if (that.universe == universe) return that;
+        }
+        return null;
+    }
+
+    private Set<T> outsideUniverse() {
+        List<T> elements = new ArrayList<>(size + 1);
+        for (T element : this) {
+            elements.add(element);
+        }
+        return Set.of(elements);
+    }
+}
@@ -0,0 +1,56 @@
+package minfill.sets;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Helpers for bitsets stored as long[] words, shared by the bitset sets and graphs.
+ */
+public class Bits {
+    private Bits() {}
+
+    @Contract(pure = true)
+    public static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @return The index of the first set bit at or after from, or -1 if there is none.
+     */
+    @Contract(pure = true)
+    public static int nextSetBit(long[] bits, int from) {
+        int i = from >>> 6;
+        if (i >= bits.length) return -1;
+
+        long word = bits[i] & (-1L << from);
+        while (true) {
+            if (word != 0) return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == bits.length) return -1;
+            word = bits[i];
+        }
+    }
+
+    @Contract(pure = true)
+    public static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Contract(pure = true)
+    public static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package minfill.sets;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Splittable enumeration of the subsets of {0, ..., n-1} of size minSize to maxSize, by increasing size and in
+ * lexicographic order within a size. Every subset has a rank, its position in that order, and a spliterator covers a
+ * range of ranks, so splitting halves the range, and the first subset of the new range is found by unranking with
+ * binomial coefficients. The subsets are handed out as a sorted array of ids which is reused for every subset of the
+ * same size, so consumers must copy what they keep.
+ * Binomial coefficients saturate at Long.MAX_VALUE, which cuts off enumerations too large to ever finish.
+ */
+public class CombinationSpliterator implements Spliterator<int[]> {
+    private static final int minSplit = 16;
+
+    private final int n, maxSize;
+    private final long[][] binomials; // binomials[m][s] == m choose s, shared by the splits.
+    private final long[] offsets; // offsets[s] is the rank of the first subset of size s.
+    private long rank;
+    private final long end;
+    private int[] combination; // The subset of rank-1, or null if it has to be found by unranking.
+
+    public CombinationSpliterator(int n, int minSize, int maxSize) {
+        if (minSize < 0 || minSize > maxSize) throw new IllegalArgumentException("size");
+        this.n = n;
+        this.maxSize = Math.min(maxSize, n);
+        this.binomials = binomials(n, this.maxSize);
+
+        offsets = new long[this.maxSize + 2];
+        for (int s = 0; s <= this.maxSize; s++) {
+            offsets[s + 1] = s < minSize ? offsets[s] : add(offsets[s], binomials[n][s]);
+        }
+        this.rank = offsets[Math.min(minSize, this.maxSize + 1)];
+        this.end = offsets[this.maxSize + 1];
+    }
+
+    private CombinationSpliterator(CombinationSpliterator parent, long rank, long end) {
+        this.n = parent.n;
+        this.maxSize = parent.maxSize;
+        this.binomials = parent.binomials;
+        this.offsets = parent.offsets;
+        this.rank = rank;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super int[]> action) {
+        if (rank >= end) return false;
+        if (combination == null) combination = unrank(rank);
+        else successor();
+        rank++;
+        action.accept(combination);
+        return true;
+    }
+
+    @Override
+    public Spliterator<int[]> trySplit() {
+        long remaining = end - rank;
+        if (remaining < minSplit) return null;
+
+        long middle = rank + remaining / 2;
+        CombinationSpliterator prefix = new CombinationSpliterator(this, rank, middle);
+        rank = middle;
+        combination = null;
+        return prefix;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public long estimateSize() {
+        return end - rank;
+    }
+
+    @Override
+    @Contract(pure = true)
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Moves combination to the next subset in the order, of the same size if there is one.
+     */
+    private void successor() {
+        int size = combination.length;
+        for (int i = size - 1; i >= 0; i--) {
+            if (combination[i] < n - size + i) {
+                combination[i]++;
+                for (int j = i + 1; j < size; j++) {
+                    combination[j] = combination[j - 1] + 1;
+                }
+                return;
+            }
+        }
+
+        combination = new int[size + 1];
+        for (int i = 0; i <= size; i++) {
+            combination[i] = i;
+        }
+    }
+
+    @Contract(pure = true)
+    private int[] unrank(long rank) {
+        int size = 0;
+        while (offsets[size + 1] <= rank) size++;
+        rank -= offsets[size];
+
+        int[] combination = new int[size];
+        int x = 0;
+        for (int i = 0; i < size; i++) {
+            // The number of subsets with x at position i, given the ones before, is (n-x-1) choose (size-i-1).
+            while (rank >= binomials[n - x - 1][size - i - 1]) {
+                rank -= binomials[n - x - 1][size - i - 1];
+                x++;
+            }
+            combination[i] = x++;
+        }
+        return combination;
+    }
+
+    @Contract(pure = true)
+    private static long[][] binomials(int n, int maxSize) {
+        long[][] binomials = new long[n + 1][maxSize + 1];
+        for (int m = 0; m <= n; m++) {
+            binomials[m][0] = 1;
+            for (int s = 1; s <= Math.min(m, maxSize); s++) {
+                binomials[m][s] = add(binomials[m - 1][s - 1], binomials[m - 1][s]);
+            }
+        }
+        return binomials;
+    }
+
+    @Contract(pure = true)
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+}
@@ -0,0 +1,85 @@
+package minfill.sets;
+
+import org.jetbrains.annotations.Contract;
+
+/**
+ * Enumeration of the subsets of size exactly size of {0, ..., n-1}, kept in one bitset and one array of ids which are
+ * updated in place on every advance(), so nothing is allocated per subset. A Listener is told which ids enter and
+ * leave the subset on every step, starting from the empty set, so a predicate can keep its state up to date instead
+ * of recomputing it per subset.
+ */
+public abstract class Combinations {
+    public interface Listener {
+        void added(int id);
+
+        void removed(int id);
+    }
+
+    protected final int n, size;
+    protected final long[] mask;
+    private Listener listener;
+    private boolean started;
+
+    protected Combinations(int n, int size) {
+        if (size < 0) throw new IllegalArgumentException("size");
+        this.n = n;
+        this.size = size;
+        this.mask = new long[(n + 63) >>> 6];
+    }
+
+    /**
+     * @return Gosper's hack for n at most 64, otherwise the revolving door order.
+     */
+    @Contract(pure = true)
+    public static Combinations of(int n, int size) {
+        return n <= 64 ? new GosperCombinations(n, size) : new RevolvingDoorCombinations(n, size);
+    }
+
+    public Combinations listen(Listener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Moves to the first subset on the first call, and to the next one after that.
+     * @return false once every subset has been visited.
+     */
+    public final boolean advance() {
+        if (started) return next();
+        started = true;
+        return first();
+    }
+
+    /**
+     * @return The current subset as a bitset. Must not be modified, and changes on advance().
+     */
+    @Contract(pure = true)
+    public long[] mask() {
+        return mask;
+    }
+
+    /**
+     * @return The ids of the current subset, in increasing order unless stated otherwise. Must not be modified, and
+     * changes on advance().
+     */
+    public abstract int[] ids();
+
+    @Contract(pure = true)
+    public int size() {
+        return size;
+    }
+
+    protected abstract boolean first();
+
+    protected abstract boolean next();
+
+    protected void add(int id) {
+        Bits.set(mask, id);
+        if (listener != null) listener.added(id);
+    }
+
+    protected void remove(int id) {
+        Bits.clear(mask, id);
+        if (listener != null) listener.removed(id);
+    }
+}
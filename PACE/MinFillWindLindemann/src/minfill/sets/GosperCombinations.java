@@ -0,0 +1,66 @@
+package minfill.sets;
+
+/**
+ * Combinations of at most 64 elements in increasing order of their single word bitset: from a subset x the next one
+ * is found in constant time by Gosper's hack, taking the lowest block of ones, moving its highest one up a position
+ * and the rest down to the bottom. Several ids may enter and leave per step; the listener is told of the ones that
+ * leave first.
+ */
+class GosperCombinations extends Combinations {
+    private final int[] ids;
+    private boolean idsValid;
+
+    GosperCombinations(int n, int size) {
+        super(n, size);
+        if (n > 64) throw new IllegalArgumentException("n");
+        ids = new int[size];
+    }
+
+    @Override
+    public int[] ids() {
+        if (!idsValid) {
+            long word = word();
+            for (int i = 0; word != 0; i++) {
+                ids[i] = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+            idsValid = true;
+        }
+        return ids;
+    }
+
+    @Override
+    protected boolean first() {
+        if (size > n) return false;
+        for (int id = 0; id < size; id++) {
+            add(id);
+        }
+        idsValid = false;
+        return true;
+    }
+
+    @Override
+    protected boolean next() {
+        long x = word();
+        if (x == 0) return false; // the empty set is the only subset of size 0
+
+        long lowest = x & -x;
+        long ripple = x + lowest;
+        if (ripple == 0) return false; // the ones were at the top of the word
+        long y = (((ripple ^ x) >>> 2) / lowest) | ripple;
+        if (n < 64 && y >>> n != 0) return false;
+
+        for (long removed = x & ~y; removed != 0; removed &= removed - 1) {
+            remove(Long.numberOfTrailingZeros(removed));
+        }
+        for (long added = y & ~x; added != 0; added &= added - 1) {
+            add(Long.numberOfTrailingZeros(added));
+        }
+        idsValid = false;
+        return true;
+    }
+
+    private long word() {
+        return mask.length == 0 ? 0 : mask[0];
+    }
+}
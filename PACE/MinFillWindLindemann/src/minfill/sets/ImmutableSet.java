@@ -74,6 +74,7 @@ public class ImmutableSet<T> implements Set<T> {
     @Override
     public Set<T> union(Set<T> other) {
         if (other.isEmpty()) return this;
+        if (other instanceof BitSetSet<?>) return other.union(this);
 
         java.util.Set<T> copy = new HashSet<>(inner);
 
@@ -92,6 +93,7 @@ public class ImmutableSet<T> implements Set<T> {
     @Override
     public Set<T> intersect(Set<T> other) {
         if (other.isEmpty()) return other;
+        if (other instanceof BitSetSet<?>) return other.intersect(this);
 
         java.util.Set<T> intersection;
 
@@ -143,11 +145,16 @@ public class ImmutableSet<T> implements Set<T> {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (o instanceof ImmutableSet<?>) return inner.equals(((ImmutableSet<?>) o).inner);
+        if (!(o instanceof Set<?>)) return false;
 
-        ImmutableSet<?> that = (ImmutableSet<?>) o;
+        Set<?> that = (Set<?>) o;
+        if (size() != that.size()) return false;
 
-        return inner.equals(that.inner);
+        for (Object element : that) {
+            if (!inner.contains(element)) return false;
+        }
+        return true;
     }
 
     @Override
@@ -0,0 +1,85 @@
+package minfill.sets;
+
+/**
+ * Combinations of any number of elements in revolving door order (Knuth, TAOCP 7.2.1.3, Algorithm R), where every
+ * step takes exactly one id out of the subset and puts one in, so a listener sees one removal and one addition.
+ */
+class RevolvingDoorCombinations extends Combinations {
+    private final int[] c; // c[1..size] are the ids in increasing order, c[size+1] == n is a sentinel.
+    private final int[] ids;
+
+    RevolvingDoorCombinations(int n, int size) {
+        super(n, size);
+        c = new int[size + 2];
+        ids = new int[size];
+    }
+
+    @Override
+    public int[] ids() {
+        System.arraycopy(c, 1, ids, 0, size);
+        return ids;
+    }
+
+    @Override
+    protected boolean first() {
+        if (size > n) return false;
+        for (int j = 1; j <= size; j++) {
+            c[j] = j - 1;
+            add(j - 1);
+        }
+        c[size + 1] = n;
+        return true;
+    }
+
+    @Override
+    protected boolean next() {
+        if (size == 0) return false;
+
+        // R3: the easy case moves c[1].
+        if ((size & 1) == 1) {
+            if (c[1] + 1 < c[2]) {
+                swap(c[1], c[1] + 1);
+                c[1]++;
+                return true;
+            }
+            return increaseOrDecrease(2, false);
+        }
+        if (c[1] > 0) {
+            swap(c[1], c[1] - 1);
+            c[1]--;
+            return true;
+        }
+        return increaseOrDecrease(2, true);
+    }
+
+    private boolean increaseOrDecrease(int j, boolean increase) {
+        while (j <= size) {
+            if (!increase) {
+                // R4: c[j] == c[j-1] + 1, try to decrease c[j].
+                if (c[j] >= j) {
+                    swap(c[j], j - 2);
+                    c[j] = c[j - 1];
+                    c[j - 1] = j - 2;
+                    return true;
+                }
+                j++;
+            }
+            if (j > size) break;
+            // R5: c[j-1] == j - 2, try to increase c[j].
+            if (c[j] + 1 < c[j + 1]) {
+                swap(j - 2, c[j] + 1);
+                c[j - 1] = c[j];
+                c[j]++;
+                return true;
+            }
+            j++;
+            increase = false;
+        }
+        return false;
+    }
+
+    private void swap(int removed, int added) {
+        remove(removed);
+        add(added);
+    }
+}
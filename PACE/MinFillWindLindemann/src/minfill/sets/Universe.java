@@ -0,0 +1,96 @@
+package minfill.sets;
+
+import org.jetbrains.annotations.Contract;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fixed mapping between elements and dense int ids 0..size()-1.
+ * Built once (e.g. when a graph is parsed) and shared by everything derived from it,
+ * so that sets and neighborhoods can be stored as bitsets over the ids.
+ */
+public class Universe<T> {
+    private final List<T> elements;
+    private final Map<T, Integer> ids;
+
+    public Universe(Iterable<T> elements) {
+        this.elements = new ArrayList<>();
+        this.ids = new HashMap<>();
+
+        for (T element : elements) {
+            if (!ids.containsKey(element)) {
+                ids.put(element, this.elements.size());
+                this.elements.add(element);
+            }
+        }
+    }
+
+    @Contract(pure = true)
+    public static <T extends Comparable<T>> Universe<T> sorted(Iterable<T> elements) {
+        List<T> sorted = new ArrayList<>();
+        for (T element : elements) {
+            sorted.add(element);
+        }
+        Collections.sort(sorted);
+        return new Universe<>(sorted);
+    }
+
+    @Contract(pure = true)
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * @return The number of 64 bit words needed for a bitset over this universe.
+     */
+    @Contract(pure = true)
+    public int words() {
+        return (elements.size() + 63) >>> 6;
+    }
+
+    /**
+     * @return The id of element, or -1 if it is not part of the universe.
+     */
+    @Contract(pure = true)
+    public int indexOf(T element) {
+        Integer id = ids.get(element);
+        return id == null ? -1 : id;
+    }
+
+    @Contract(pure = true)
+    public T get(int id) {
+        return elements.get(id);
+    }
+
+    /**
+     * @return The set of all the elements.
+     */
+    @Contract(pure = true)
+    public Set<T> toSet() {
+        return Set.of(elements);
+    }
+
+    /**
+     * @return The set of the elements with the given ids.
+     */
+    @Contract(pure = true)
+    public Set<T> subset(int[] ids) {
+        return subset(ids, ids.length);
+    }
+
+    /**
+     * @return The set of the elements with the first size ids.
+     */
+    @Contract(pure = true)
+    public Set<T> subset(int[] ids, int size) {
+        List<T> subset = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            subset.add(elements.get(ids[i]));
+        }
+        return Set.of(subset);
+    }
+}
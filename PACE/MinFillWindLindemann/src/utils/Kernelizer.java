@@ -10,6 +10,7 @@ import minfill.tuples.Triple;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.IntFunction;
 
 public class Kernelizer<T extends Comparable<T>> {
     private MinFillKernel<T> kernel = new MinFillKernel<>();
@@ -27,10 +28,11 @@ public class Kernelizer<T extends Comparable<T>> {
     public Pair<Graph<T>, Integer> kernelizeWithK(Graph<T> g) {
         Triple<Set<T>, Set<T>, Integer> abk = kernel.kernelProcedure1And2(g);
 
+        IntFunction<Optional<Pair<Graph<T>, Integer>>> kernelProcedure3 = kernel.kernelProcedure3(g, abk.a, abk.b);
         int k = abk.c - 1;
         Optional<Pair<Graph<T>, Integer>> gk;
         do {
-            gk = kernel.kernelProcedure3(g, abk.a, abk.b, ++k);
+            gk = kernelProcedure3.apply(++k);
         } while(!gk.isPresent());
 
         return gk.get();
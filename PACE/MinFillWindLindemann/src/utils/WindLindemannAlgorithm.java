@@ -1,6 +1,8 @@
 package utils;
 
 import minfill.IO;
+import minfill.KSearch;
+import minfill.heuristics.Heuristics;
 import minfill.kernel.MinFillKernel;
 import minfill.kernel.MinimumFillKernel;
 import minfill.graphs.Edge;
@@ -15,10 +17,20 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.function.IntFunction;
 
 public class WindLindemannAlgorithm<T extends Comparable<T>> {
     private MinimumFillKernel<T> kernel = new MinFillKernel<>();
     private Kernelizer<T> kernelizer = new Kernelizer<>();
+    private final KSearch.Strategy strategy;
+
+    public WindLindemannAlgorithm() {
+        this(KSearch.Strategy.GALLOP);
+    }
+
+    public WindLindemannAlgorithm(KSearch.Strategy strategy) {
+        this.strategy = strategy;
+    }
 
     public static void main(String[] args) throws FileNotFoundException {
         IO io = new IO(Util.getInput(args));
@@ -43,78 +55,88 @@ public class WindLindemannAlgorithm<T extends Comparable<T>> {
     }
 
     public Set<Edge<T>> perComponent(Graph<T> g) {
+        return perComponent(g, Heuristics.bestFill(g));
+    }
+
+    /**
+     * @param incumbent A fill of g bounding the k search, or null.
+     */
+    public Set<Edge<T>> perComponent(Graph<T> g, Set<Edge<T>> incumbent) {
         if (g.isChordal()) return Set.empty();
 
         Triple<Set<T>, Set<T>, Integer> abk = kernel.kernelProcedure1And2(g);
 
-        int k = abk.c;
-        while (true) {
-            IO.printf("k=%d\n", k);
-            Optional<Pair<Graph<T>, Integer>> option = kernel.kernelProcedure3(g, abk.a, abk.b, k);
-
-            if (option.isPresent()) {
-                Graph<T> gPrime = option.get().a;
-                int kPrime = option.get().b;
-
-                Set<Edge<T>> edgesAddedByKernel = gPrime.getEdges();
-
-                Set<Set<T>> components = gPrime.components();
-                if (components.size() != 1) {
-                    boolean hasResult = true;
-                    java.util.Set<Edge<T>> minFill = new HashSet<>();
-                    for (Set<T> component : components) {
-                        Optional<Set<Edge<T>>> maybeEdges = perComponent(gPrime.inducedBy(component), kPrime);
-
-                        if (maybeEdges.isPresent()) {
-                            for (Edge<T> edge : maybeEdges.get()) {
-                                minFill.add(edge);
-                            }
-                        } else {
-                            hasResult = false;
-                            break;
+        IntFunction<Optional<Pair<Graph<T>, Integer>>> kernelProcedure3 = kernel.kernelProcedure3(g, abk.a, abk.b);
+        return new KSearch<>(strategy, k -> perComponent(g, kernelProcedure3, k), fill -> fill.minus(g.getEdges()).size())
+                .search(abk.c, incumbent);
+    }
+
+    private Optional<Set<Edge<T>>> perComponent(Graph<T> g, IntFunction<Optional<Pair<Graph<T>, Integer>>> kernelProcedure3, int k) {
+        IO.printf("k=%d\n", k);
+        Optional<Pair<Graph<T>, Integer>> option = kernelProcedure3.apply(k);
+
+        if (option.isPresent()) {
+            Graph<T> gPrime = option.get().a;
+            int kPrime = option.get().b;
+
+            Set<Edge<T>> edgesAddedByKernel = gPrime.getEdges();
+
+            Set<Set<T>> components = gPrime.components();
+            if (components.size() != 1) {
+                boolean hasResult = true;
+                java.util.Set<Edge<T>> minFill = new HashSet<>();
+                for (Set<T> component : components) {
+                    Optional<Set<Edge<T>>> maybeEdges = perComponent(gPrime.inducedBy(component), kPrime);
+
+                    if (maybeEdges.isPresent()) {
+                        for (Edge<T> edge : maybeEdges.get()) {
+                            minFill.add(edge);
                         }
+                    } else {
+                        hasResult = false;
+                        break;
                     }
+                }
 
-                    if (hasResult) {
-                        IO.println("Found components in graph.");
-                        return Set.of(minFill).union(edgesAddedByKernel);
-                    }
-                } else {
-                    Graph<T> best = null;
-                    int bestK = kPrime;
-                    Set<Edge<T>> bestNonEdgesAdded = Set.empty();
+                if (hasResult) {
+                    IO.println("Found components in graph.");
+                    return Optional.of(Set.of(minFill).union(edgesAddedByKernel));
+                }
+            } else {
+                Graph<T> best = null;
+                int bestK = kPrime;
+                Set<Edge<T>> bestNonEdgesAdded = Set.empty();
 
-                    IO.println("Now trying all non-edges.");
-                    for (Edge<T> nonEdge : gPrime.getNonEdges()) {
-                        Graph<T> gNonEdge = gPrime.addEdge(nonEdge);
+                IO.println("Now trying all non-edges.");
+                for (Edge<T> nonEdge : gPrime.getNonEdges()) {
+                    Graph<T> gNonEdge = gPrime.addEdge(nonEdge);
 
-                        Pair<Graph<T>, Integer> kernelized = kernelizer.kernelizeWithK(gNonEdge);
+                    Pair<Graph<T>, Integer> kernelized = kernelizer.kernelizeWithK(gNonEdge);
 
-                        if (kernelized.b < bestK) {
-                            best = kernelized.a;
-                            bestK = kernelized.b;
-                            bestNonEdgesAdded = gNonEdge.getEdges().union(kernelized.a.getEdges()).minus(gPrime.getEdges());
-                        }
+                    if (kernelized.b < bestK) {
+                        best = kernelized.a;
+                        bestK = kernelized.b;
+                        bestNonEdgesAdded = gNonEdge.getEdges().union(kernelized.a.getEdges()).minus(gPrime.getEdges());
                     }
+                }
 
-                    if (best == null) {
-                        IO.println("No good edge found.");
-                    } else {
-                        if (best.isChordal()) {
-                            IO.println("Found result!");
-                            return best.getEdges().union(bestNonEdgesAdded).union(edgesAddedByKernel);
-                        }
-                        IO.println("Search deeper!");
-                        Optional<Set<Edge<T>>> maybeEdges = perComponent(best, kPrime - bestNonEdgesAdded.size());
+                if (best == null) {
+                    IO.println("No good edge found.");
+                } else {
+                    if (best.isChordal()) {
+                        IO.println("Found result!");
+                        return Optional.of(best.getEdges().union(bestNonEdgesAdded).union(edgesAddedByKernel));
+                    }
+                    IO.println("Search deeper!");
+                    Optional<Set<Edge<T>>> maybeEdges = perComponent(best, kPrime - bestNonEdgesAdded.size());
 
-                        if (maybeEdges.isPresent()) {
-                            return maybeEdges.get().union(bestNonEdgesAdded).union(edgesAddedByKernel);
-                        }
+                    if (maybeEdges.isPresent()) {
+                        return Optional.of(maybeEdges.get().union(bestNonEdgesAdded).union(edgesAddedByKernel));
                     }
                 }
             }
-            k++;
         }
+        return Optional.empty();
     }
 
     public Optional<Set<Edge<T>>> perComponent(Graph<T> gPrime, int kPrime) {
@@ -0,0 +1,79 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.heuristics.Heuristics;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnytimeTest {
+    @Test
+    void incumbentKeepsSmallestFillPerComponent() {
+        Incumbent<Integer> incumbent = new Incumbent<>();
+        Set<Edge<Integer>> large = Set.of(new Edge<>(1, 3), new Edge<>(1, 4)), small = Set.of(new Edge<>(2, 4));
+
+        incumbent.offer(Set.of(1, 2, 3, 4), large);
+        incumbent.offer(Set.of(1, 2, 3, 4), small);
+        incumbent.offer(Set.of(1, 2, 3, 4), large);
+        incumbent.offer(Set.of(5, 6, 7, 8), Set.of(new Edge<>(5, 7)));
+
+        assertEquals(small, incumbent.get(Set.of(1, 2, 3, 4)));
+        assertEquals(Set.of(new Edge<>(2, 4), new Edge<>(5, 7)), incumbent.fill());
+    }
+
+    @Test
+    void budgetedSearchFindsMinimumWhenInTime() {
+        // Two disjoint chordless 4-cycles.
+        Graph<String> g = new AdjacencySetGraph<>(Set.of("a", "b", "c", "d", "e", "f", "g", "h"), Set.of(
+                new Edge<>("a", "b"), new Edge<>("b", "c"), new Edge<>("c", "d"), new Edge<>("d", "a"),
+                new Edge<>("e", "f"), new Edge<>("f", "g"), new Edge<>("g", "h"), new Edge<>("h", "e")));
+
+        Incumbent<String> incumbent = new Incumbent<>();
+        Set<Edge<String>> fill = MinFill.minFill(g, Duration.ofMinutes(1), incumbent);
+
+        assertEquals(2, fill.size());
+        assertTrue(g.addEdges(fill).isChordal());
+        assertEquals(fill, incumbent.fill());
+    }
+
+    @Test
+    void exhaustedBudgetReturnsHeuristicIncumbent() throws IOException {
+        Graph<String> g;
+        try (FileInputStream in = new FileInputStream("res/instances/36.graph")) { // Minimum fill 46.
+            g = new IO(in).parse();
+        }
+
+        int minDegree = 0;
+        for (Set<String> component : g.components()) {
+            minDegree += Heuristics.fastFill(g.inducedBy(component)).size();
+        }
+
+        Incumbent<String> incumbent = new Incumbent<>();
+        Set<Edge<String>> fill = MinFill.minFill(g, Duration.ofNanos(1), incumbent);
+
+        assertTrue(fill.size() <= minDegree);
+        assertTrue(fill.size() >= 46);
+        assertTrue(g.addEdges(fill).isChordal());
+    }
+
+    @Test
+    void awaitFillWaitsUntilSeeded() throws InterruptedException {
+        Incumbent<Integer> incumbent = new Incumbent<>();
+        Set<Edge<Integer>> fill = Set.of(new Edge<>(1, 3));
+        Thread seeder = new Thread(() -> {
+            incumbent.offer(Set.of(1, 2, 3, 4), fill);
+            incumbent.seeded();
+        });
+        seeder.start();
+
+        assertEquals(fill, incumbent.awaitFill());
+        seeder.join();
+    }
+}
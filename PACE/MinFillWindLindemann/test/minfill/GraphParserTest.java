@@ -0,0 +1,85 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphParserTest {
+    @Test
+    void parsesCommentsBlanksAndRepeats() {
+        String input = "# a comment\n" +
+                "a b\r\n" +
+                "\n" +
+                "b\tc\n" +
+                "  c a  \n" +
+                "b a\n" +
+                "d d\n" +
+                "é a";
+        Graph<String> expected = new AdjacencySetGraph<>(Set.of("a", "b", "c", "d", "é"), Set.of(
+                new Edge<>("a", "b"), new Edge<>("b", "c"), new Edge<>("c", "a"), new Edge<>("é", "a")));
+
+        for (boolean bitset : new boolean[]{false, true}) {
+            Graph<String> g = parse(input, bitset);
+            assertEquals(expected.getVertices(), g.getVertices());
+            assertEquals(expected.getEdges(), g.getEdges());
+        }
+        assertEquals(0, parse("", false).getVertices().size());
+    }
+
+    @Test
+    void rejectsLinesWithOneVertex() {
+        try {
+            parse("a b\nc\n", false);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Line 2"));
+        }
+    }
+
+    @Test
+    void agreesWithLineSplittingOnInstances() throws IOException {
+        File[] files = new File("res/instances/").listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            if (!file.getName().endsWith(".graph")) continue;
+
+            java.util.Set<String> vertices = new HashSet<>();
+            java.util.Set<Edge<String>> edges = new HashSet<>();
+            List<String> lines = Files.readAllLines(file.toPath());
+            for (String line : lines) {
+                if (line.startsWith("#")) continue;
+                String[] tokens = line.split(" ");
+                vertices.add(tokens[0]);
+                vertices.add(tokens[1]);
+                edges.add(new Edge<>(tokens[0], tokens[1]));
+            }
+
+            Graph<String> g;
+            try (FileInputStream in = new FileInputStream(file)) { // Memory mapped.
+                g = new IO(in).parse(BitSetGraph::new);
+            }
+            assertEquals(Set.of(vertices), g.getVertices(), file.getName());
+            assertEquals(Set.of(edges), g.getEdges(), file.getName());
+        }
+    }
+
+    private static Graph<String> parse(String input, boolean bitset) {
+        IO io = new IO(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        return bitset ? io.parse(BitSetGraph::new) : io.parse();
+    }
+}
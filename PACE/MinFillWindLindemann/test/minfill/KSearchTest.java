@@ -0,0 +1,118 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KSearchTest {
+    private static final int optimum = 37;
+
+    // A solution is represented by its size. Probes at or above the optimum find a solution of size k.
+    private static Optional<Integer> probe(int k) {
+        return k >= optimum ? Optional.of(k) : Optional.empty();
+    }
+
+    @Test
+    void bothStrategiesFindOptimum() {
+        for (KSearch.Strategy strategy : KSearch.Strategy.values()) {
+            assertEquals(optimum, (int) new KSearch<>(strategy, KSearchTest::probe, x -> x).search(3, null));
+            assertEquals(optimum, (int) new KSearch<>(strategy, KSearchTest::probe, x -> x).search(3, 90));
+            assertEquals(optimum, (int) new KSearch<>(strategy, KSearchTest::probe, x -> x).search(optimum, null));
+        }
+    }
+
+    @Test
+    void gallopingProbesLogarithmicallyMany() {
+        KSearch<Integer> linear = new KSearch<>(KSearch.Strategy.LINEAR, KSearchTest::probe, x -> x);
+        KSearch<Integer> gallop = new KSearch<>(KSearch.Strategy.GALLOP, KSearchTest::probe, x -> x);
+        linear.search(0, null);
+        gallop.search(0, null);
+
+        assertEquals(optimum + 1, linear.getProbes());
+        assertTrue(gallop.getProbes() <= 2 * 6 + 1);
+        assertTrue(gallop.getSuccesses() >= 1);
+    }
+
+    @Test
+    void gallopProbesPowersOfTwoMinusOneAboveLower() {
+        List<Integer> probed = new ArrayList<>();
+        KSearch<Integer> search = new KSearch<>(KSearch.Strategy.GALLOP, k -> {
+            probed.add(k);
+            return probe(k);
+        }, x -> x);
+        search.search(optimum - 20, null);
+
+        assertEquals(Arrays.asList(optimum - 20, optimum - 19, optimum - 17, optimum - 13, optimum - 5, optimum + 11), probed.subList(0, 6));
+        probed.clear();
+        new KSearch<Integer>(KSearch.Strategy.GALLOP, k -> {
+            probed.add(k);
+            return probe(k);
+        }, x -> x).search(optimum - 1, null);
+        assertEquals(Arrays.asList(optimum - 1, optimum), probed);
+    }
+
+    @Test
+    void everyImprovementIsReportedAsFound() {
+        for (KSearch.Strategy strategy : KSearch.Strategy.values()) {
+            List<Integer> improvements = new ArrayList<>();
+            // Probes succeed with a solution twice the optimum until k reaches it.
+            new KSearch<>(strategy, k -> k >= optimum ? Optional.of(k) : Optional.of(2 * optimum + k), x -> x, improvements::add).search(3, 200);
+
+            assertFalse(improvements.isEmpty());
+            assertEquals(optimum, (int) improvements.get(improvements.size() - 1));
+            for (int i = 1; i < improvements.size(); i++) {
+                assertTrue(improvements.get(i) < improvements.get(i - 1));
+            }
+            assertTrue(improvements.get(0) < 200);
+        }
+    }
+
+    @Test
+    void incumbentMeetingLowerBoundIsNotProbed() {
+        KSearch<Integer> search = new KSearch<>(KSearch.Strategy.GALLOP, k -> { throw new AssertionError(); }, x -> x);
+        assertEquals(5, (int) search.search(5, 5));
+        assertEquals(0, search.getProbes());
+    }
+
+    @Test
+    void oversizedSolutionsTightenBound() {
+        // Every probe below the optimum returns a solution of size optimum, which does not count as a success.
+        KSearch<Integer> search = new KSearch<>(KSearch.Strategy.LINEAR, k -> Optional.of(Math.max(k, optimum)), x -> x);
+        assertEquals(optimum, (int) search.search(optimum - 2, null));
+        assertEquals(2, search.getProbes());
+        assertEquals(0, search.getSuccesses());
+    }
+
+    @Test
+    void gallopOvershootReachesSearchTree() {
+        // A chordless cycle on 8 vertices has minimum fill 5, and galloping from 0 probes 0, 1, 3 and then 7.
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < 8; v++) {
+            vertices.add(v);
+            edges.add(new Edge<>(v, (v + 1) % 8));
+        }
+        Graph<Integer> cycle = new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+        int[] largest = {0};
+
+        KSearch<Graph<Integer>> search = new KSearch<>(KSearch.Strategy.GALLOP, k -> {
+            largest[0] = Math.max(largest[0], k);
+            return MinFillSearchTree.minFillSearchTree(cycle, k);
+        }, h -> h.getEdges().size() - 8);
+        Graph<Integer> h = search.search(0, null);
+
+        assertTrue(largest[0] > 5);
+        assertTrue(h.isChordal());
+        assertEquals(8 + 5, h.getEdges().size());
+    }
+}
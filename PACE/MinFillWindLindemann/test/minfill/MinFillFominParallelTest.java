@@ -0,0 +1,117 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.MemoCache;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinFillFominParallelTest {
+    // 3x3 grid, minimum fill-in 5.
+    private final Graph<Integer> grid = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9), Set.of(
+            new Edge<>(1, 2), new Edge<>(2, 3),
+            new Edge<>(4, 5), new Edge<>(5, 6),
+            new Edge<>(7, 8), new Edge<>(8, 9),
+            new Edge<>(1, 4), new Edge<>(4, 7),
+            new Edge<>(2, 5), new Edge<>(5, 8),
+            new Edge<>(3, 6), new Edge<>(6, 9)));
+
+    @Test
+    void parallelAgreesWithSequential() {
+        MinFillFomin<Integer> sequential = new MinFillFomin<>(), parallel = new MinFillFomin<>(4);
+
+        for (int k = 0; k <= 8; k++) {
+            Optional<Graph<Integer>> expected = sequential.stepB1(grid, k), actual = parallel.stepB1(grid, k);
+
+            assertEquals(k >= 5, actual.isPresent());
+            assertEquals(expected, actual);
+            actual.ifPresent(filled -> assertTrue(filled.isChordal()));
+        }
+    }
+
+    @Test
+    void vitalPotentialMaximalCliquesAgreeWithSequential() {
+        MinFillFomin<Integer> sequential = new MinFillFomin<>(), parallel = new MinFillFomin<>(4);
+
+        for (int k = 1; k <= 6; k++) {
+            Set<Set<Integer>> expected = sequential.generateVitalPotentialMaximalCliques(grid, k);
+
+            assertEquals(expected, parallel.generateVitalPotentialMaximalCliques(grid, k));
+            for (Set<Integer> vital : expected) {
+                assertTrue(grid.isVitalPotentialMaximalClique(vital, k));
+            }
+        }
+    }
+
+    @Test
+    void searchTreeParallelAgreesWithSequential() {
+        MinFillSearchTree<Integer> parallel = new MinFillSearchTree<>(4);
+
+        for (int k = 0; k <= 8; k++) {
+            Optional<Graph<Integer>> expected = MinFillSearchTree.minFillSearchTree(grid, k), actual = parallel.search(grid, k);
+
+            assertEquals(k >= 5, actual.isPresent());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void concurrentSearchTreesDoNotInterfere() throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        List<Optional<Graph<Integer>>> results = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 4; i++) {
+            int k = 4 + i % 2;
+            threads.add(new Thread(() -> results.add(new MinFillSearchTree<Integer>(2).search(grid, k))));
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(2, results.stream().filter(Optional::isPresent).count());
+    }
+
+    @Test
+    void interruptingCallerStopsTasksInsideStepB2() throws Exception {
+        // The 5x5 grid has minimum fill-in above 15, and refuting k = 15 takes many seconds in steps B2 and C.
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < 25; v++) {
+            vertices.add(v);
+            if (v % 5 < 4) edges.add(new Edge<>(v, v + 1));
+            if (v < 20) edges.add(new Edge<>(v, v + 5));
+        }
+        Graph<Integer> large = new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        MinFillFomin<Integer> fomin = new MinFillFomin<>(pool, MemoCache.defaultPolicy, MemoCache.defaultCeiling());
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                fomin.stepB1(large, 15);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        caller.start();
+        Thread.sleep(1000);
+        caller.interrupt();
+        caller.join(10_000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(thrown.get() instanceof CancellationException);
+        assertTrue(pool.awaitQuiescence(5, TimeUnit.SECONDS));
+        pool.shutdown();
+    }
+}
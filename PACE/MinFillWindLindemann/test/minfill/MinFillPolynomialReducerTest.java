@@ -0,0 +1,72 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinFillPolynomialReducerTest {
+    private final MinFillPolynomialReducer<Integer> reducer = new MinFillPolynomialReducer<>();
+
+    @Test
+    void safeEdgesLeaveNoAlmostCliqueSeparator() {
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            Graph<Integer> g = randomGraph(random, 2 + random.nextInt(8), random.nextDouble());
+
+            Set<Edge<Integer>> safe = reducer.findSafeEdges(g);
+            Graph<Integer> h = g.addEdges(safe);
+            for (Edge<Integer> edge : safe) {
+                assertFalse(g.isAdjacent(edge.from, edge.to));
+            }
+            for (Set<Integer> separator : h.minimalSeparators()) {
+                assertNotEquals(1, h.cliqueify(separator).size());
+            }
+            assertEquals(minimumFill(g), safe.size() + minimumFill(h));
+        }
+    }
+
+    @Test
+    void findsCliqueSeparatorIffThereIsOne() {
+        Random random = new Random(6);
+        for (int round = 0; round < 200; round++) {
+            Graph<Integer> g = randomGraph(random, 2 + random.nextInt(8), random.nextDouble());
+
+            Optional<Set<Integer>> separator = reducer.separatorsThatAreClique(g);
+            boolean expected = false;
+            for (Set<Integer> s : g.minimalSeparators()) {
+                expected |= g.isClique(s);
+            }
+            assertEquals(expected, separator.isPresent());
+            separator.ifPresent(s -> {
+                assertTrue(g.isClique(s));
+                assertTrue(g.fullComponents(s).size() >= 2);
+            });
+        }
+    }
+
+    private static int minimumFill(Graph<Integer> g) {
+        for (int k = 0; ; k++) {
+            if (MinFillExhaustive.exhaustiveNonEdgeSearch(g, k).isPresent()) return k;
+        }
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
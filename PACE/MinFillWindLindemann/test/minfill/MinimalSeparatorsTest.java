@@ -2,11 +2,20 @@ package minfill;
 
 import minfill.graphs.Edge;
 import minfill.graphs.Graph;
+import minfill.graphs.MinimalSeparators;
 import minfill.graphs.adjacencyset.AdjacencySetGraph;
 import minfill.sets.Set;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
 /**
  * Created by aws on 21-05-2017.
  */
@@ -60,6 +69,97 @@ public class MinimalSeparatorsTest {
         AdjacencySetGraph<Integer> graph = new AdjacencySetGraph<>(vertices, edges);
 
         Set<Set<Integer>> separators = graph.minimalSeparators(1, 13);
-        assertEquals(Set.of(Set.of(2,3), Set.of(3)), separators);
+        assertEquals(Set.of(Set.of(2,3), Set.of(3,6), Set.of(6,7), Set.of(6,10), Set.of(9), Set.of(12)), separators);
+    }
+
+    @Test
+    public void lazyEnumerationIsIndexedAndDistinct(){
+        Graph<Integer> cycle = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5), Set.of(
+                new Edge<>(1, 2), new Edge<>(2, 3), new Edge<>(3, 4), new Edge<>(4, 5), new Edge<>(5, 1)));
+        MinimalSeparators<Integer> separators = new MinimalSeparators<>(cycle);
+
+        Set<Integer> first = separators.get(0);
+        assertEquals(0, separators.indexOf(first));
+        assertEquals(5, separators.size()); // the non-adjacent pairs
+        assertEquals(5, separators.stream().distinct().count());
+        for (int i = 0; i < separators.size(); i++) {
+            assertEquals(i, separators.indexOf(separators.get(i)));
+        }
+        assertFalse(separators.contains(Set.of(1, 2)));
+    }
+
+    @Test
+    public void agreesWithBruteForceOnRandomGraphs(){
+        Random random = new Random(17);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + random.nextInt(10);
+            double density = random.nextDouble();
+            java.util.Set<Integer> vertices = new HashSet<>();
+            java.util.Set<Edge<Integer>> edges = new HashSet<>();
+            for (int v = 0; v < n; v++) {
+                vertices.add(v);
+                for (int u = 0; u < v; u++) {
+                    if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+                }
+            }
+            Graph<Integer> g = new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+
+            assertEquals(bruteForce(g), g.minimalSeparators());
+            // Chordal graphs have their own enumeration.
+            Graph<Integer> h = g.minimalTriangulation();
+            assertEquals(bruteForce(h), h.minimalSeparators());
+        }
+    }
+
+    @Test
+    public void agreesWithBruteForceOnInstances() throws IOException {
+        File[] files = new File("res/instances/").listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            if (!file.getName().endsWith(".graph")) continue;
+            Graph<String> g;
+            try (FileInputStream in = new FileInputStream(file)) {
+                g = new IO(in).parse();
+            }
+            if (g.getVertices().size() > 80) continue; // larger instances can have exponentially many
+
+            Set<Set<String>> separators = g.minimalSeparators();
+            if (g.getVertices().size() <= 16) {
+                assertEquals(bruteForce(g), separators, file.getName());
+                continue;
+            }
+
+            // Too large to try every subset: the separators found must be minimal, and the minimal separators of a
+            // minimal triangulation are minimal separators of the graph.
+            for (Set<String> separator : separators) {
+                assertTrue(isMinimalSeparator(g, separator), file.getName());
+            }
+            for (Set<String> separator : g.minimalTriangulation().minimalSeparators()) {
+                assertTrue(separators.contains(separator), file.getName());
+            }
+        }
+    }
+
+    // S is a minimal separator iff it is non-empty and G-S has two full components.
+    private static <T extends Comparable<T>> boolean isMinimalSeparator(Graph<T> g, Set<T> separator) {
+        return !separator.isEmpty() && g.fullComponents(separator).size() >= 2;
+    }
+
+    private static <T extends Comparable<T>> Set<Set<T>> bruteForce(Graph<T> g) {
+        List<T> vertices = new ArrayList<>();
+        for (T vertex : g.getVertices()) {
+            vertices.add(vertex);
+        }
+
+        java.util.Set<Set<T>> separators = new HashSet<>();
+        for (int subset = 1; subset < 1 << vertices.size(); subset++) {
+            List<T> separator = new ArrayList<>();
+            for (int i = 0; i < vertices.size(); i++) {
+                if ((subset & 1 << i) != 0) separator.add(vertices.get(i));
+            }
+            if (isMinimalSeparator(g, Set.of(separator))) separators.add(Set.of(separator));
+        }
+        return Set.of(separators);
     }
 }
@@ -0,0 +1,136 @@
+package minfill;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubproblemSchedulerTest {
+    @Test
+    void sequentialSolvesLargestFirst() {
+        List<Integer> order = new ArrayList<>();
+        int sum = new SubproblemScheduler(1).solveAll(Arrays.asList(2, 7, 1, 5), x -> x, x -> {
+            order.add(x);
+            return x;
+        }, 0, Integer::sum);
+
+        assertEquals(15, sum);
+        assertEquals(Arrays.asList(7, 5, 2, 1), order);
+    }
+
+    @Test
+    void nestedSubproblemsDoNotExhaustThePool() {
+        SubproblemScheduler scheduler = new SubproblemScheduler(2);
+
+        assertEquals(1 << 8, leaves(scheduler, 8));
+    }
+
+    // Every subproblem splits in two until depth 0, and waits for its pieces.
+    private static int leaves(SubproblemScheduler scheduler, int depth) {
+        if (depth == 0) return 1;
+        return scheduler.solveAll(Arrays.asList(depth - 1, depth - 1), x -> x, x -> leaves(scheduler, x), 0, Integer::sum);
+    }
+
+    @Test
+    void interruptingCallerCancelsSubproblems() throws Exception {
+        SubproblemScheduler scheduler = new SubproblemScheduler(3);
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch interrupted = new CountDownLatch(3);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                scheduler.solveAll(Arrays.asList(1, 2, 3), x -> x, x -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw new CancellationException();
+                    }
+                    return x;
+                }, 0, Integer::sum);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        caller.start();
+        started.await();
+        caller.interrupt();
+        caller.join(10_000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(thrown.get() instanceof CancellationException);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void interruptedCallerStartsNoMoreSubproblems() throws Exception {
+        SubproblemScheduler scheduler = new SubproblemScheduler(2);
+        CountDownLatch running = new CountDownLatch(2);
+        AtomicInteger started = new AtomicInteger();
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+
+        // The worker and the caller each take one subproblem, and the caller would run the other eight inline.
+        Thread caller = new Thread(() -> {
+            try {
+                scheduler.solveAll(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), x -> x, x -> {
+                    started.incrementAndGet();
+                    running.countDown();
+                    try {
+                        Thread.sleep(60_000);
+                    } catch (InterruptedException e) {
+                        throw new CancellationException();
+                    }
+                    return x;
+                }, 0, Integer::sum);
+            } catch (Throwable t) {
+                thrown.set(t);
+            }
+        });
+        caller.start();
+        running.await();
+        caller.interrupt();
+        caller.join(10_000);
+
+        assertFalse(caller.isAlive());
+        assertTrue(thrown.get() instanceof CancellationException);
+        assertEquals(2, started.get());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void minFillWithJobsAgreesWithSequential() {
+        // A chordless 5-cycle and two chordless 4-cycles sharing the clique {c, d}.
+        Graph<String> g = new AdjacencySetGraph<>(
+                Set.of("a", "b", "c", "d", "e", "f", "v", "w", "x", "y", "z"), Set.of(
+                new Edge<>("a", "b"), new Edge<>("b", "c"), new Edge<>("c", "d"), new Edge<>("d", "a"),
+                new Edge<>("c", "e"), new Edge<>("e", "f"), new Edge<>("f", "d"),
+                new Edge<>("v", "w"), new Edge<>("w", "x"), new Edge<>("x", "y"), new Edge<>("y", "z"), new Edge<>("z", "v")));
+
+        try {
+            MinFill.setJobs(1);
+            Set<Edge<String>> expected = MinFill.minFill(g);
+            MinFill.setJobs(3);
+            Set<Edge<String>> fill = MinFill.minFill(g);
+
+            assertEquals(4, fill.size());
+            assertEquals(expected.size(), fill.size());
+            assertTrue(g.addEdges(fill).isChordal());
+        } finally {
+            MinFill.setJobs(1);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package minfill.graphs;
+
+import minfill.MinFillExhaustive;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomsTest {
+    @Test
+    void twoCyclesSharingAnEdge() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5, 6), Set.of(
+                new Edge<>(1, 2), new Edge<>(2, 3), new Edge<>(3, 4), new Edge<>(4, 1),
+                new Edge<>(3, 5), new Edge<>(5, 6), new Edge<>(6, 4)));
+
+        assertEquals(Set.of(Set.of(1, 2, 3, 4), Set.of(3, 4, 5, 6)), g.atoms());
+    }
+
+    @Test
+    void componentsAreSeparated() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5), Set.of(new Edge<>(1, 2), new Edge<>(3, 4)));
+
+        assertEquals(Set.of(Set.of(1, 2), Set.of(3, 4), Set.of(5)), g.atoms());
+    }
+
+    @Test
+    void atomsOfRandomGraphs() {
+        Random random = new Random(21);
+        for (int round = 0; round < 150; round++) {
+            Graph<Integer> g = randomGraph(random, 1 + random.nextInt(9), random.nextDouble() * 0.6);
+            Set<Set<Integer>> atoms = g.atoms();
+
+            java.util.Set<Edge<Integer>> covered = new HashSet<>();
+            java.util.Set<Integer> vertices = new HashSet<>();
+            int fill = 0;
+            for (Set<Integer> atom : atoms) {
+                Graph<Integer> a = g.inducedBy(atom);
+                assertEquals(1, a.components().size());
+                for (Set<Integer> separator : a.minimalSeparators()) {
+                    assertFalse(a.isClique(separator), "atom with a clique separator");
+                }
+                for (Set<Integer> other : atoms) {
+                    assertTrue(atom.equals(other) || !atom.isSubsetOf(other));
+                }
+                for (Edge<Integer> edge : a.getEdges()) {
+                    covered.add(edge);
+                }
+                for (Integer vertex : atom) {
+                    vertices.add(vertex);
+                }
+                fill += minimumFill(a);
+            }
+
+            assertEquals(g.getVertices(), Set.of(vertices));
+            assertEquals(g.getEdges(), Set.of(covered));
+            assertEquals(minimumFill(g), fill);
+        }
+    }
+
+    private static int minimumFill(Graph<Integer> g) {
+        for (int k = 0; ; k++) {
+            if (MinFillExhaustive.exhaustiveNonEdgeSearch(g, k).isPresent()) return k;
+        }
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
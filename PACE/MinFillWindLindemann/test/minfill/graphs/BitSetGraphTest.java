@@ -0,0 +1,70 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitSetGraphTest {
+    private final Set<Integer> vertices = Set.of(1, 2, 3, 4, 5, 6, 7);
+    private final Set<Edge<Integer>> edges = Set.of(
+            new Edge<>(1, 2),
+            new Edge<>(2, 3),
+            new Edge<>(3, 4),
+            new Edge<>(4, 1),
+            new Edge<>(4, 5),
+            new Edge<>(6, 7));
+
+    private final Graph<Integer> expected = new AdjacencySetGraph<>(vertices, edges);
+    private final Graph<Integer> graph = new BitSetGraph<>(vertices, edges);
+
+    @Test
+    void sameStructureAsAdjacencySet() {
+        assertEquals(expected.getVertices(), graph.getVertices());
+        assertEquals(expected.getEdges(), graph.getEdges());
+        assertEquals(expected.getNonEdges(), graph.getNonEdges());
+        assertEquals(expected.getNumberOfNonEdges(), graph.getNumberOfNonEdges());
+        assertEquals(expected.components(), graph.components());
+        assertEquals(expected.neighborhood(Set.of(1, 2)), graph.neighborhood(Set.of(1, 2)));
+        assertEquals(expected.cliqueify(Set.of(1, 2, 3, 4)), graph.cliqueify(Set.of(1, 2, 3, 4)));
+    }
+
+    @Test
+    void adjacencyAndPaths() {
+        assertTrue(graph.isAdjacent(1, 2));
+        assertFalse(graph.isAdjacent(1, 3));
+        assertTrue(graph.hasPath(1, 5));
+        assertFalse(graph.hasPath(1, 6));
+        assertTrue(graph.isClique(Set.of(6, 7)));
+        assertFalse(graph.isClique(Set.of(1, 2, 3)));
+    }
+
+    @Test
+    void derivedGraphsArePure() {
+        Graph<Integer> added = graph.addEdge(new Edge<>(1, 3));
+
+        assertTrue(added.isAdjacent(1, 3));
+        assertFalse(graph.isAdjacent(1, 3));
+        assertTrue(added.isChordal());
+        assertFalse(graph.isChordal());
+
+        assertEquals(graph, added.removeEdges(Set.of(new Edge<>(1, 3))));
+        assertEquals(graph.hashCode(), added.removeEdges(Set.of(new Edge<>(1, 3))).hashCode());
+        assertSame(graph, graph.addEdges(Set.of(new Edge<>(1, 2))));
+
+        Graph<Integer> induced = graph.inducedBy(Set.of(1, 2, 3));
+        assertEquals(Set.of(1, 2, 3), induced.getVertices());
+        assertEquals(Set.of(new Edge<>(1, 2), new Edge<>(2, 3)), induced.getEdges());
+        assertEquals(1, induced.getNumberOfNonEdges());
+    }
+
+    @Test
+    void minimalTriangulation() {
+        ChordalGraph<Integer> triangulation = graph.minimalTriangulation();
+
+        assertTrue(triangulation.isChordal());
+        assertEquals(1, triangulation.getEdges().minus(graph.getEdges()).size());
+    }
+}
@@ -0,0 +1,92 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import minfill.tuples.Triple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChordalityCertificateTest {
+    @Test
+    void chordalGraphGivesPerfectEliminationOrdering() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5), Set.of(
+                new Edge<>(1, 2),
+                new Edge<>(2, 3),
+                new Edge<>(3, 1),
+                new Edge<>(3, 4),
+                new Edge<>(4, 1),
+                new Edge<>(4, 5)));
+
+        ChordalityCertificate<Integer> certificate = g.chordalityCertificate();
+
+        assertTrue(certificate.isChordal());
+        assertFalse(certificate.violation().isPresent());
+
+        List<Integer> peo = certificate.perfectEliminationOrdering().get();
+        for (int i = 0; i < peo.size(); i++) {
+            assertTrue(g.isClique(g.mAdj(peo, i)));
+        }
+    }
+
+    @Test
+    void chordlessCycleGivesViolatingTriple() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5), Set.of(
+                new Edge<>(1, 2),
+                new Edge<>(2, 3),
+                new Edge<>(3, 4),
+                new Edge<>(4, 1),
+                new Edge<>(4, 5)));
+
+        ChordalityCertificate<Integer> certificate = g.chordalityCertificate();
+
+        assertFalse(certificate.isChordal());
+        assertFalse(certificate.perfectEliminationOrdering().isPresent());
+
+        Triple<Integer, Integer, Integer> violation = certificate.violation().get();
+        assertTrue(g.isAdjacent(violation.a, violation.b));
+        assertTrue(g.isAdjacent(violation.a, violation.c));
+        assertFalse(g.isAdjacent(violation.b, violation.c));
+    }
+
+    @Test
+    void chordlessCycleIsInduced() {
+        // A 6-cycle 1..6 with chords 1-3 and 4-6, leaving the chordless cycle 1, 3, 4, 6.
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5, 6, 7), Set.of(
+                new Edge<>(1, 2), new Edge<>(2, 3), new Edge<>(3, 4),
+                new Edge<>(4, 5), new Edge<>(5, 6), new Edge<>(6, 1),
+                new Edge<>(1, 3), new Edge<>(4, 6), new Edge<>(6, 7)));
+
+        List<Integer> cycle = g.chordalityCertificate().chordlessCycle().get();
+
+        assertEquals(Set.of(1, 3, 4, 6), Set.of(cycle));
+        for (int i = 0; i < cycle.size(); i++) {
+            for (int j = i + 1; j < cycle.size(); j++) {
+                boolean consecutive = j == i + 1 || (i == 0 && j == cycle.size() - 1);
+                assertEquals(consecutive, g.isAdjacent(cycle.get(i), cycle.get(j)));
+            }
+        }
+    }
+
+    @Test
+    void deletingCycleVertexMakesChordal() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4, 5), Set.of(
+                new Edge<>(1, 2),
+                new Edge<>(2, 3),
+                new Edge<>(3, 4),
+                new Edge<>(4, 1),
+                new Edge<>(4, 5)));
+        MutableIntGraph<Integer> working = new MutableIntGraph<>(g);
+
+        assertFalse(new ChordalityCertificate<>(working).isChordal());
+        working.delete(working.id(2));
+
+        assertTrue(new ChordalityCertificate<>(working).isChordal());
+        assertFalse(new ChordalityCertificate<>(working).chordlessCycle().isPresent());
+        assertEquals(4, working.remaining());
+        assertEquals(0, working.neighbors(working.id(2)).length);
+        assertEquals(1, working.neighbors(working.id(1)).length);
+    }
+}
@@ -0,0 +1,79 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintTest {
+    private final Set<Integer> vertices = Set.of(0, 1, 2, 3, 4, 5, 6, 7);
+    private final Set<Edge<Integer>> edges = Set.of(
+            new Edge<>(0, 1),
+            new Edge<>(1, 2),
+            new Edge<>(2, 3),
+            new Edge<>(3, 0),
+            new Edge<>(3, 4),
+            new Edge<>(4, 5),
+            new Edge<>(6, 7));
+
+    private final List<Graph<Integer>> graphs = Arrays.asList(
+            new AdjacencySetGraph<>(vertices, edges),
+            new BitSetGraph<>(vertices, edges));
+
+    @Test
+    void derivedGraphsMatchFingerprintFromScratch() {
+        for (Graph<Integer> g : graphs) {
+            assertEquals(Fingerprint.of(g), g.fingerprint());
+
+            Graph<Integer> added = g.addEdge(new Edge<>(0, 2));
+            assertEquals(Fingerprint.of(added), added.fingerprint());
+
+            Graph<Integer> filled = added.addEdges(Set.of(new Edge<>(1, 3), new Edge<>(5, 6), new Edge<>(0, 1)));
+            assertEquals(Fingerprint.of(filled), filled.fingerprint());
+
+            Graph<Integer> removed = filled.removeEdges(Set.of(new Edge<>(0, 2), new Edge<>(2, 5)));
+            assertEquals(Fingerprint.of(removed), removed.fingerprint());
+
+            Graph<Integer> induced = filled.inducedBy(Set.of(0, 1, 2, 3, 4, 5, 6));
+            assertEquals(Fingerprint.of(induced), induced.fingerprint());
+
+            Graph<Integer> small = filled.inducedBy(Set.of(0, 1));
+            assertEquals(Fingerprint.of(small), small.fingerprint());
+        }
+    }
+
+    @Test
+    void equalGraphsHaveEqualFingerprints() {
+        for (Graph<Integer> g : graphs) {
+            Graph<Integer> roundTrip = g.addEdge(new Edge<>(0, 2)).removeEdges(Set.of(new Edge<>(0, 2)));
+
+            assertEquals(g, roundTrip);
+            assertEquals(g.fingerprint(), roundTrip.fingerprint());
+            assertNotEquals(g.fingerprint(), g.addEdge(new Edge<>(0, 2)).fingerprint());
+            assertNotEquals(g.fingerprint(), g.inducedBy(Set.of(0, 1, 2, 3, 4, 5, 6)).fingerprint());
+        }
+        assertEquals(graphs.get(0).fingerprint(), graphs.get(1).fingerprint());
+    }
+
+    @Test
+    void tableFindsEqualGraphs() {
+        FingerprintTable<Integer, String> table = new FingerprintTable<>();
+        Graph<Integer> g = graphs.get(0);
+
+        table.put(g, "g");
+        table.put(g.addEdge(new Edge<>(0, 2)), "g+02");
+
+        assertEquals("g", table.get(new AdjacencySetGraph<>(vertices, edges)));
+        assertEquals("g+02", table.get(g.addEdge(new Edge<>(0, 2))));
+        assertNull(table.get(g.addEdge(new Edge<>(1, 3))));
+
+        table.put(new AdjacencySetGraph<>(vertices, edges), "again");
+        assertEquals("again", table.get(g));
+        assertEquals(2, table.size());
+    }
+}
@@ -0,0 +1,117 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoCacheTest {
+    private final Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4), Set.of(
+            new Edge<>(1, 2),
+            new Edge<>(2, 3),
+            new Edge<>(3, 4),
+            new Edge<>(4, 1)));
+    private final Graph<Integer> a = g.addEdge(new Edge<>(1, 3)), b = g.addEdge(new Edge<>(2, 4)), c = g.removeEdges(Set.of(new Edge<>(1, 2)));
+
+    // Room for exactly two of the graphs above, which all have 4 vertices and 3 to 5 edges.
+    private final long ceiling = 2 * MemoCache.weight(a);
+
+    @Test
+    void lruEvictsLeastRecentlyUsed() {
+        MemoCache<Integer, String> cache = MemoCache.create(MemoCache.Policy.LRU, ceiling, value -> 0, new MemoStatistics());
+
+        cache.put(a, "a", 1);
+        cache.put(b, "b", 1);
+        assertEquals("a", cache.get(a));
+        cache.put(c, "c", 1);
+
+        assertEquals("a", cache.get(a));
+        assertNull(cache.get(b));
+        assertEquals("c", cache.get(c));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void costKeepsExpensiveEntries() {
+        MemoCache<Integer, String> cache = MemoCache.create(MemoCache.Policy.COST, ceiling, value -> 0, new MemoStatistics());
+
+        cache.put(a, "a", 1000);
+        cache.put(b, "b", 10);
+        assertEquals("b", cache.get(b));
+        cache.put(c, "c", 10);
+
+        assertEquals("a", cache.get(a));
+        assertNull(cache.get(b));
+        assertEquals("c", cache.get(c));
+    }
+
+    @Test
+    void countsHitsMissesAndEvictions() {
+        MemoStatistics statistics = new MemoStatistics();
+        MemoCache<Integer, String> cache = MemoCache.create(MemoCache.Policy.LRU, ceiling, value -> 0, statistics);
+
+        assertNull(cache.get(a));
+        cache.put(a, "a", 1);
+        cache.put(b, "b", 1);
+        cache.put(c, "c", 1);
+        cache.get(c);
+        cache.get(g.removeEdges(Set.of(new Edge<>(1, 2))));
+
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getEvictions());
+        assertTrue(((BoundedMemoCache<Integer, String>) cache).weight() <= ceiling);
+    }
+
+    @Test
+    void mergeKeepsTheMaximum() {
+        for (MemoCache.Policy policy : MemoCache.Policy.values()) {
+            MemoCache<Integer, Integer> cache = MemoCache.create(policy, ceiling, value -> 0, new MemoStatistics());
+
+            cache.merge(a, 9, 1, Math::max);
+            cache.merge(a, 7, 1, Math::max);
+            cache.merge(b, 7, 1, Math::max);
+
+            assertEquals(9, (int) cache.get(a), policy.name());
+            assertEquals(7, (int) cache.get(b), policy.name());
+        }
+    }
+
+    @Test
+    void stripedCacheStaysBelowCeiling() {
+        long large = 1 << 24;
+        MemoStatistics statistics = new MemoStatistics();
+        MemoCache<Integer, Integer> cache = MemoCache.create(MemoCache.Policy.COST, large, value -> 1 << 16, statistics);
+
+        Graph<Integer> h = g;
+        for (int i = 5; i < 1000; i++) {
+            h = new AdjacencySetGraph<>(h.getVertices().add(i), h.getEdges().add(new Edge<>(i - 1, i)));
+            cache.put(h, i, i);
+        }
+
+        assertTrue(statistics.getEvictions() > 0);
+        assertTrue(((BoundedMemoCache<Integer, Integer>) cache).weight() <= large);
+        assertEquals(999, (int) cache.get(h));
+    }
+
+    @Test
+    void weightCountsVerticesAndEdges() {
+        assertEquals(64 + 4 * 64 + 5 * 64, MemoCache.weight(a));
+        assertEquals(3, c.getNumberOfEdges());
+    }
+
+    @Test
+    void unboundedNeverEvicts() {
+        MemoStatistics statistics = new MemoStatistics();
+        MemoCache<Integer, String> cache = MemoCache.create(MemoCache.Policy.UNBOUNDED, 0, value -> 0, statistics);
+
+        cache.put(a, "a", 1);
+        cache.put(b, "b", 1);
+        cache.put(c, "c", 1);
+
+        assertEquals(3, cache.size());
+        assertEquals("a", cache.get(a));
+        assertEquals(0, statistics.getEvictions());
+    }
+}
@@ -0,0 +1,94 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.sets.Set;
+import minfill.sets.Universe;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedEdgeSetTest {
+    @Test
+    void packIsSymmetricAndOrdered() {
+        long edge = PackedEdgeSet.pack(7, 3);
+        assertEquals(PackedEdgeSet.pack(3, 7), edge);
+        assertEquals(3, PackedEdgeSet.from(edge));
+        assertEquals(7, PackedEdgeSet.to(edge));
+
+        long large = PackedEdgeSet.pack(Integer.MAX_VALUE, Integer.MAX_VALUE - 1);
+        assertEquals(Integer.MAX_VALUE - 1, PackedEdgeSet.from(large));
+        assertEquals(Integer.MAX_VALUE, PackedEdgeSet.to(large));
+    }
+
+    @Test
+    void growsAndAgreesWithHashSet() {
+        Random random = new Random(24);
+        PackedEdgeSet edges = new PackedEdgeSet();
+        java.util.Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 5000; i++) {
+            int a = random.nextInt(200), b = random.nextInt(200);
+            if (a == b) continue;
+            assertEquals(expected.add(PackedEdgeSet.pack(a, b)), edges.add(a, b));
+        }
+        assertEquals(expected.size(), edges.size());
+        for (long edge : expected) {
+            assertTrue(edges.contains(edge));
+        }
+        assertFalse(edges.contains(200, 201));
+
+        long[] sorted = edges.toSortedArray();
+        for (int i = 1; i < sorted.length; i++) {
+            assertTrue(sorted[i - 1] < sorted[i]);
+        }
+
+        PackedEdgeSet copy = edges.copy();
+        copy.add(200, 201);
+        assertFalse(edges.contains(200, 201));
+        assertNotEquals(edges, copy);
+        edges.addAll(copy);
+        assertEquals(copy, edges);
+        assertEquals(copy.hashCode(), edges.hashCode());
+    }
+
+    @Test
+    void agreesWithEdgeSets() {
+        Random random = new Random(24);
+        for (int round = 0; round < 100; round++) {
+            Graph<Integer> g = randomGraph(random, 1 + random.nextInt(12), random.nextDouble());
+            Graph<Integer> bits = new BitSetGraph<>(g.getVertices(), g.getEdges());
+            java.util.Set<Integer> subset = new HashSet<>();
+            for (Integer vertex : g.getVertices()) {
+                if (random.nextBoolean()) subset.add(vertex);
+            }
+
+            for (Graph<Integer> h : Arrays.asList(g, bits)) {
+                Universe<Integer> universe = h.getUniverse();
+                assertEquals(h.getEdges(), h.getEdges(universe).toEdges(universe));
+                assertEquals(h.getNonEdges(), h.getNonEdges(universe).toEdges(universe));
+                assertEquals(h.cliqueify(Set.of(subset)), h.cliqueify(Set.of(subset), universe).toEdges(universe));
+                assertEquals(PackedEdgeSet.of(h.getEdges(), universe), h.getEdges(universe));
+
+                PackedEdgeSet nonEdges = h.getNonEdges(universe);
+                assertEquals(h.addEdges(h.getNonEdges()), h.addEdges(nonEdges, universe));
+                assertEquals(h.addEdges(h.getNonEdges()).fingerprint(), h.addEdges(nonEdges, universe).fingerprint());
+            }
+        }
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
@@ -0,0 +1,73 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PotentialMaximalCliqueCheckerTest {
+    @Test
+    void cycleOfFour() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4), Set.of(
+                new Edge<>(1, 2),
+                new Edge<>(2, 3),
+                new Edge<>(3, 4),
+                new Edge<>(4, 1)));
+        PotentialMaximalCliqueChecker<Integer> checker = new PotentialMaximalCliqueChecker<>(g);
+
+        assertTrue(checker.isPotentialMaximalClique(Set.of(1, 2, 3)));
+        assertTrue(checker.isPotentialMaximalClique(Set.of(2, 3, 4)));
+        assertFalse(checker.isPotentialMaximalClique(Set.of(1, 3))); // minimal separator, both components are full
+        assertFalse(checker.isPotentialMaximalClique(Set.of(1, 2)));
+        assertFalse(checker.isPotentialMaximalClique(Set.of(1, 2, 3, 4)));
+
+        assertTrue(checker.isVitalPotentialMaximalClique(Set.of(1, 2, 3), 1));
+        assertFalse(checker.isVitalPotentialMaximalClique(Set.of(1, 2, 3), 0));
+    }
+
+    @Test
+    void agreesWithDefinitionOnRandomGraphs() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + random.nextInt(8);
+            Graph<Integer> g = randomGraph(random, n, random.nextDouble());
+            PotentialMaximalCliqueChecker<Integer> checker = new PotentialMaximalCliqueChecker<>(g);
+
+            for (int subset = 1; subset < 1 << n; subset++) {
+                java.util.Set<Integer> k = new HashSet<>();
+                for (int v = 0; v < n; v++) {
+                    if ((subset & 1 << v) != 0) k.add(v);
+                }
+                assertEquals(isPotentialMaximalClique(g, Set.of(k)), checker.isPotentialMaximalClique(Set.of(k)));
+            }
+        }
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+
+    // K is a potential maximal clique iff G-K has no full component, and completing the neighborhoods of the
+    // components of G-K into cliques makes K a clique.
+    private static boolean isPotentialMaximalClique(Graph<Integer> g, Set<Integer> k) {
+        Graph<Integer> completed = g;
+        for (Set<Integer> component : g.inducedBy(g.getVertices().minus(k)).components()) {
+            Set<Integer> separator = g.neighborhood(component);
+            if (separator.equals(k)) return false;
+            completed = completed.addEdges(completed.cliqueify(separator));
+        }
+        return completed.isClique(k);
+    }
+}
@@ -0,0 +1,105 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailGraphTest {
+    @Test
+    void rollbackRestoresCheckpoint() {
+        Graph<Integer> cycle = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4), Set.of(
+                new Edge<>(1, 2), new Edge<>(2, 3), new Edge<>(3, 4), new Edge<>(4, 1)));
+        TrailGraph<Integer> g = new TrailGraph<>(cycle);
+        assertFalse(g.isChordal());
+        assertTrue(g.findChordlessCycle().isPresent());
+
+        int checkpoint = g.checkpoint();
+        assertTrue(g.addEdge(new Edge<>(1, 3)));
+        assertFalse(g.addEdge(new Edge<>(3, 1)));
+        assertTrue(g.isChordal());
+        assertEquals(cycle.addEdge(new Edge<>(1, 3)), g.snapshot());
+
+        g.rollback(checkpoint);
+        assertFalse(g.isAdjacent(g.id(1), g.id(3)));
+        assertEquals(cycle, g.snapshot());
+        assertEquals(cycle.fingerprint(), g.fingerprint());
+    }
+
+    @Test
+    void agreesWithImmutableGraphs() {
+        Random random = new Random(23);
+        for (int round = 0; round < 100; round++) {
+            Graph<Integer> g = randomGraph(random, 2 + random.nextInt(10), random.nextDouble() * 0.5);
+            TrailGraph<Integer> trail = new TrailGraph<>(g);
+            Deque<Graph<Integer>> graphs = new ArrayDeque<>();
+            Deque<Integer> checkpoints = new ArrayDeque<>();
+            Graph<Integer> current = g;
+
+            for (int step = 0; step < 30; step++) {
+                int n = trail.size();
+                if (random.nextInt(3) == 0 && !checkpoints.isEmpty()) {
+                    trail.rollback(checkpoints.pop());
+                    current = graphs.pop();
+                } else {
+                    checkpoints.push(trail.checkpoint());
+                    graphs.push(current);
+                    for (int i = random.nextInt(3); i >= 0; i--) {
+                        int u = random.nextInt(n), v = random.nextInt(n);
+                        boolean absent = u != v && !current.isAdjacent(trail.vertex(u), trail.vertex(v));
+                        assertEquals(absent, trail.addEdge(u, v));
+                        if (absent) current = current.addEdge(new Edge<>(trail.vertex(u), trail.vertex(v)));
+                    }
+                }
+
+                assertEquals(current, trail.snapshot());
+                assertEquals(current.fingerprint(), trail.fingerprint());
+                assertTrue(trail.isSnapshot(current));
+                assertEquals(g.equals(current), trail.isSnapshot(g));
+                if (current.getEdges().size() > 0) assertFalse(trail.isSnapshot(current.removeEdges(current.getEdges())));
+                assertEquals(current.isChordal(), trail.isChordal());
+                for (int u = 0; u < n; u++) {
+                    assertEquals(current.neighborhood(trail.vertex(u)).toSet().size(), trail.neighbors(u).length);
+                    for (int v : trail.neighbors(u)) {
+                        assertTrue(current.isAdjacent(trail.vertex(u), trail.vertex(v)));
+                        assertTrue(trail.isAdjacent(u, v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        Graph<Integer> path = new AdjacencySetGraph<>(Set.of(1, 2, 3), Set.of(new Edge<>(1, 2), new Edge<>(2, 3)));
+        TrailGraph<Integer> g = new TrailGraph<>(path);
+        TrailGraph<Integer> copy = g.copy();
+
+        copy.addEdge(new Edge<>(1, 3));
+        assertEquals(path, g.snapshot());
+        assertEquals(1, g.neighbors(g.id(1)).length);
+        assertEquals(path.addEdge(new Edge<>(1, 3)), copy.snapshot());
+
+        g.addEdge(new Edge<>(1, 3));
+        g.rollback(0);
+        assertTrue(copy.isAdjacent(copy.id(1), copy.id(3)));
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
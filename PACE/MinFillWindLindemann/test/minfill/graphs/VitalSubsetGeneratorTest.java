@@ -0,0 +1,60 @@
+package minfill.graphs;
+
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Combinations;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VitalSubsetGeneratorTest {
+    @Test
+    void visitsExactlyTheSubsetsWithinBudget() {
+        Random random = new Random(17);
+        for (int round = 0; round < 100; round++) {
+            int n = 1 + random.nextInt(10), maxSize = 1 + random.nextInt(n), budget = random.nextInt(6);
+            PotentialMaximalCliqueChecker<Integer> checker = new PotentialMaximalCliqueChecker<>(randomGraph(random, n, random.nextDouble()));
+
+            java.util.Set<String> expected = new HashSet<>();
+            for (int size = 1; size <= maxSize; size++) {
+                Combinations subsets = Combinations.of(n, size);
+                while (subsets.advance()) {
+                    if (checker.numberOfNonEdges(subsets.mask()) <= budget) expected.add(Arrays.toString(subsets.ids()));
+                }
+            }
+
+            java.util.Set<String> visited = new HashSet<>();
+            new VitalSubsetGenerator<>(checker).forEach(maxSize, budget, (subset, ids, size) -> {
+                assertTrue(checker.numberOfNonEdges(subset) <= budget);
+                assertTrue(visited.add(Arrays.toString(Arrays.copyOf(ids, size))));
+                return true;
+            });
+            assertEquals(expected, visited);
+        }
+    }
+
+    @Test
+    void visitorStopsGeneration() {
+        PotentialMaximalCliqueChecker<Integer> checker = new PotentialMaximalCliqueChecker<>(randomGraph(new Random(3), 8, 1));
+        int[] visits = new int[1];
+
+        assertFalse(new VitalSubsetGenerator<>(checker).forEach(8, 0, (subset, ids, size) -> ++visits[0] < 10));
+        assertEquals(10, visits[0]);
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
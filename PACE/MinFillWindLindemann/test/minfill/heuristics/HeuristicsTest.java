@@ -0,0 +1,102 @@
+package minfill.heuristics;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.graphs.bitset.BitSetGraph;
+import minfill.sets.Set;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeuristicsTest {
+    private static final Set<Integer> vertices = Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    // 3x3 grid, minimum fill-in 5.
+    private static final Set<Edge<Integer>> edges = Set.of(
+            new Edge<>(1, 2), new Edge<>(2, 3),
+            new Edge<>(4, 5), new Edge<>(5, 6),
+            new Edge<>(7, 8), new Edge<>(8, 9),
+            new Edge<>(1, 4), new Edge<>(4, 7),
+            new Edge<>(2, 5), new Edge<>(5, 8),
+            new Edge<>(3, 6), new Edge<>(6, 9));
+
+    private static void assertMinimalTriangulation(Graph<Integer> g, Set<Edge<Integer>> fill) {
+        assertTrue(g.addEdges(fill).isChordal());
+        for (Edge<Integer> edge : fill) {
+            assertFalse(g.isAdjacent(edge.from, edge.to));
+            assertFalse(g.addEdges(fill.remove(edge)).isChordal());
+        }
+    }
+
+    @Test
+    void everyHeuristicGivesMinimalTriangulation() {
+        for (Graph<Integer> g : java.util.Arrays.<Graph<Integer>>asList(
+                new AdjacencySetGraph<>(vertices, edges), new BitSetGraph<>(vertices, edges))) {
+            for (TriangulationHeuristic heuristic : Heuristics.all()) {
+                Set<Edge<Integer>> fill = heuristic.fill(g);
+                assertMinimalTriangulation(g, fill);
+                assertTrue(fill.size() >= 5, heuristic.name());
+            }
+        }
+    }
+
+    @Test
+    void chordalGraphNeedsNoFill() {
+        Graph<Integer> g = new AdjacencySetGraph<>(Set.of(1, 2, 3, 4), Set.of(
+                new Edge<>(1, 2), new Edge<>(2, 3), new Edge<>(3, 1), new Edge<>(3, 4)));
+        for (TriangulationHeuristic heuristic : Heuristics.all()) {
+            assertTrue(heuristic.fill(g).isEmpty(), heuristic.name());
+        }
+        assertTrue(Heuristics.bestFill(g).isEmpty());
+    }
+
+    @Test
+    void bestFillIsSmallest() {
+        Graph<Integer> g = new AdjacencySetGraph<>(vertices, edges);
+        Set<Edge<Integer>> best = Heuristics.bestFill(g);
+        assertMinimalTriangulation(g, best);
+        for (TriangulationHeuristic heuristic : Heuristics.all()) {
+            assertTrue(best.size() <= heuristic.fill(g).size());
+        }
+    }
+
+    @Test
+    void everyHeuristicTriangulatesRandomGraphsMinimally() {
+        Random random = new Random(6);
+        for (int round = 0; round < 50; round++) {
+            java.util.Set<Integer> vertices = new HashSet<>();
+            java.util.Set<Edge<Integer>> edges = new HashSet<>();
+            int n = 2 + random.nextInt(12);
+            double density = random.nextDouble();
+            for (int v = 0; v < n; v++) {
+                vertices.add(v);
+                for (int u = 0; u < v; u++) {
+                    if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+                }
+            }
+            Graph<Integer> g = new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+            for (TriangulationHeuristic heuristic : Heuristics.all()) {
+                assertMinimalTriangulation(g, heuristic.fill(g));
+            }
+        }
+    }
+
+    @Test
+    void stoppedHeuristicsKeepGivenFill() {
+        Graph<Integer> g = new AdjacencySetGraph<>(vertices, edges);
+        Set<Edge<Integer>> fast = Heuristics.fastFill(g);
+        assertMinimalTriangulation(g, fast);
+
+        assertSame(fast, Heuristics.bestFill(g, fast, () -> true, better -> fail("Not stopped")));
+        try {
+            new LBTriang().fill(g, () -> true);
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            // Stopped before the first vertex.
+        }
+    }
+}
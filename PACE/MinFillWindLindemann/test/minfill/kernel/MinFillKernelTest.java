@@ -0,0 +1,132 @@
+package minfill.kernel;
+
+import minfill.graphs.Edge;
+import minfill.graphs.Graph;
+import minfill.graphs.adjacencyset.AdjacencySetGraph;
+import minfill.sets.Set;
+import minfill.tuples.Pair;
+import minfill.tuples.Triple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinFillKernelTest {
+    private final MinFillKernel<Integer> kernel = new MinFillKernel<>();
+
+    @Test
+    void sharedProcedure3AgreesWithFreshRuns() {
+        Random random = new Random(9);
+        int edgesAdded = 0;
+        for (int round = 0; round < 300; round++) {
+            Graph<Integer> g;
+            Set<Integer> A, B;
+            if (round % 3 == 2) {
+                Integer[] label = permutation(random, 30);
+                g = pathThroughAddedEdge(random, label);
+                A = Set.of(label[0], label[1], label[2], label[3], label[4]);
+                B = g.getVertices().minus(A);
+            } else {
+                g = round % 3 == 0
+                        ? randomGraph(random, 4 + random.nextInt(11), 0.2 + 0.5 * random.nextDouble())
+                        : cycleWithCommonNeighbors(random);
+                Triple<Set<Integer>, Set<Integer>, Integer> ab = kernel.kernelProcedure1And2(g);
+                A = ab.a;
+                B = ab.b;
+            }
+
+            List<Integer> ks = new ArrayList<>();
+            for (int k = 0; k <= 6; k++) {
+                ks.add(k);
+            }
+            Collections.shuffle(ks, random);
+
+            IntFunction<Optional<Pair<Graph<Integer>, Integer>>> shared = kernel.kernelProcedure3(g, A, B);
+            for (int k : ks) {
+                Optional<Pair<Graph<Integer>, Integer>> expected = kernel.kernelProcedure3(g, A, B, k);
+                assertEquals(expected, shared.apply(k));
+                if (expected.isPresent() && expected.get().b < k) edgesAdded++;
+            }
+        }
+        assertTrue(edgesAdded > 0);
+    }
+
+    // The path x1 x2 d y2 y1 on label[0..4], with vertices w adjacent to x1 and y1, which witness x1y1, and vertices b
+    // adjacent to x2, y2, d and every w. The only x2,y2-path avoiding N[b] is through x1y1, so b witnesses x2y2 only
+    // in a run that has added x1y1.
+    private static Graph<Integer> pathThroughAddedEdge(Random random, Integer[] label) {
+        int x1 = label[0], x2 = label[1], d = label[2], y2 = label[3], y1 = label[4];
+        int ws = 1 + random.nextInt(9), bs = 1 + random.nextInt(9);
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        int[] path = {x1, x2, d, y2, y1};
+        for (int i = 0; i < path.length; i++) {
+            vertices.add(path[i]);
+            if (i > 0) edges.add(new Edge<>(path[i - 1], path[i]));
+        }
+        for (int i = 0; i < ws; i++) {
+            int w = label[5 + i];
+            vertices.add(w);
+            edges.add(new Edge<>(x1, w));
+            edges.add(new Edge<>(y1, w));
+            for (int j = 0; j < bs; j++) {
+                edges.add(new Edge<>(w, label[15 + j]));
+            }
+        }
+        for (int j = 0; j < bs; j++) {
+            int b = label[15 + j];
+            vertices.add(b);
+            for (int a : new int[]{x2, y2, d}) {
+                edges.add(new Edge<>(a, b));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+
+    private static Integer[] permutation(Random random, int n) {
+        List<Integer> labels = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            labels.add(i);
+        }
+        Collections.shuffle(labels, random);
+        return labels.toArray(new Integer[n]);
+    }
+
+    // A chordless 4- or 5-cycle with several vertices adjacent to two of its non-adjacent vertices, so procedure 3
+    // adds their edge for small k.
+    private static Graph<Integer> cycleWithCommonNeighbors(Random random) {
+        int length = 4 + random.nextInt(2), common = 1 + random.nextInt(8);
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < length; v++) {
+            vertices.add(v);
+            edges.add(new Edge<>(v, (v + 1) % length));
+        }
+        for (int b = length; b < length + common; b++) {
+            vertices.add(b);
+            edges.add(new Edge<>(0, b));
+            edges.add(new Edge<>(2, b));
+            if (b > length && random.nextBoolean()) edges.add(new Edge<>(b - 1, b));
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, double density) {
+        java.util.Set<Integer> vertices = new HashSet<>();
+        java.util.Set<Edge<Integer>> edges = new HashSet<>();
+        for (int v = 0; v < n; v++) {
+            vertices.add(v);
+            for (int u = 0; u < v; u++) {
+                if (random.nextDouble() < density) edges.add(new Edge<>(u, v));
+            }
+        }
+        return new AdjacencySetGraph<>(Set.of(vertices), Set.of(edges));
+    }
+}
@@ -0,0 +1,80 @@
+package minfill.sets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitSetSetTest {
+    private final Universe<Integer> universe = new Universe<>(Arrays.asList(0, 1, 2, 3, 64, 65, 100));
+
+    private Set<Integer> of(Integer... elements) {
+        long[] words = new long[universe.words()];
+        for (Integer element : elements) {
+            Bits.set(words, universe.indexOf(element));
+        }
+        return BitSetSet.of(universe, words);
+    }
+
+    @Test
+    void emptyWordsGiveEmptySet() {
+        assertSame(EmptySet.instance(), of());
+    }
+
+    @Test
+    void algebra() {
+        Set<Integer> a = of(0, 1, 64, 100), b = of(1, 2, 100);
+
+        assertEquals(of(0, 1, 2, 64, 100), a.union(b));
+        assertEquals(of(1, 100), a.intersect(b));
+        assertEquals(of(0, 64), a.minus(b));
+        assertSame(EmptySet.instance(), b.minus(of(1, 2, 100)));
+
+        assertTrue(of(1, 100).isSubsetOf(a));
+        assertTrue(of(1, 100).isProperSubsetOf(a));
+        assertFalse(b.isSubsetOf(a));
+
+        assertEquals(of(0, 1, 3, 64, 100), a.add(3));
+        assertEquals(of(0, 64, 100), a.remove(1));
+        assertSame(a, a.add(1));
+        assertSame(a, a.remove(2));
+    }
+
+    @Test
+    void mixedWithImmutableSet() {
+        Set<Integer> a = of(0, 1, 64);
+
+        assertEquals(Set.of(0, 1, 64, 3), a.union(Set.of(3)));
+        assertEquals(Set.of(0, 1, 64, 7), a.union(Set.of(7))); // 7 is not in the universe
+        assertEquals(Set.of(1), a.intersect(Set.of(1, 7)));
+        assertEquals(Set.of(0, 64), a.minus(Set.of(1, 7)));
+        assertEquals(Set.of(0, 1, 64, 7), a.add(7));
+        assertEquals(Set.of(0, 1, 64, 2), Set.of(2).union(a));
+    }
+
+    @Test
+    void equalityAgreesWithImmutableSet() {
+        Set<Integer> a = of(0, 2, 65);
+
+        assertEquals(Set.of(0, 2, 65), a);
+        assertEquals(a, Set.of(0, 2, 65));
+        assertEquals(Set.of(0, 2, 65).hashCode(), a.hashCode());
+        assertNotEquals(a, Set.of(0, 2));
+
+        java.util.Set<Set<Integer>> keys = new HashSet<>();
+        keys.add(a);
+        assertTrue(keys.contains(Set.of(65, 2, 0)));
+        assertTrue(keys.contains(of(0, 2, 65)));
+    }
+
+    @Test
+    void iteratesInIdOrder() {
+        java.util.List<Integer> elements = new java.util.ArrayList<>();
+        for (Integer element : of(100, 0, 65, 3)) {
+            elements.add(element);
+        }
+        assertEquals(Arrays.asList(0, 3, 65, 100), elements);
+    }
+}
@@ -0,0 +1,43 @@
+package minfill.sets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombinationSpliteratorTest {
+    @Test
+    void enumeratesBySizeThenLexicographically() {
+        List<String> subsets = StreamSupport.stream(new CombinationSpliterator(4, 1, 2), false)
+                .map(Arrays::toString)
+                .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("[0]", "[1]", "[2]", "[3]",
+                "[0, 1]", "[0, 2]", "[0, 3]", "[1, 2]", "[1, 3]", "[2, 3]"), subsets);
+    }
+
+    @Test
+    void splitsCoverEveryRankOnce() {
+        List<String> sequential = StreamSupport.stream(new CombinationSpliterator(12, 1, 5), false)
+                .map(Arrays::toString)
+                .collect(Collectors.toList());
+        List<String> parallel = StreamSupport.stream(new CombinationSpliterator(12, 1, 5), true)
+                .map(Arrays::toString)
+                .collect(Collectors.toList());
+
+        assertEquals(12 + 66 + 220 + 495 + 792, sequential.size());
+        assertEquals(sequential.size(), new HashSet<>(sequential).size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void sizesAboveNAreEmpty() {
+        assertEquals(1, new CombinationSpliterator(3, 3, 10).estimateSize());
+        assertEquals(0, new CombinationSpliterator(3, 4, 10).estimateSize());
+    }
+}
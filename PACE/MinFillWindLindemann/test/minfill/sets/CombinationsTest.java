@@ -0,0 +1,87 @@
+package minfill.sets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CombinationsTest {
+    @Test
+    void gosperVisitsEverySubsetOnce() {
+        for (int n = 0; n <= 10; n++) {
+            for (int size = 0; size <= n + 1; size++) {
+                assertVisitsEverySubsetOnce(new GosperCombinations(n, size), n, size, false);
+            }
+        }
+        assertEquals(64 * 63 / 2, count(new GosperCombinations(64, 2)));
+        assertEquals(1, count(new GosperCombinations(64, 64)));
+    }
+
+    @Test
+    void revolvingDoorVisitsEverySubsetOnceSwappingOneElement() {
+        for (int n = 0; n <= 10; n++) {
+            for (int size = 0; size <= n + 1; size++) {
+                assertVisitsEverySubsetOnce(new RevolvingDoorCombinations(n, size), n, size, true);
+            }
+        }
+        assertVisitsEverySubsetOnce(Combinations.of(70, 2), 70, 2, true);
+    }
+
+    private static void assertVisitsEverySubsetOnce(Combinations combinations, int n, int size, boolean oneSwap) {
+        boolean[] listened = new boolean[n];
+        int[] changes = new int[1];
+        combinations.listen(new Combinations.Listener() {
+            @Override
+            public void added(int id) {
+                assertFalse(listened[id]);
+                listened[id] = true;
+                changes[0]++;
+            }
+
+            @Override
+            public void removed(int id) {
+                assertTrue(listened[id]);
+                listened[id] = false;
+                changes[0]++;
+            }
+        });
+
+        java.util.Set<List<Integer>> seen = new HashSet<>();
+        boolean first = true;
+        while (combinations.advance()) {
+            int[] ids = combinations.ids();
+            assertEquals(size, ids.length);
+            assertEquals(size, Bits.cardinality(combinations.mask()));
+            for (int i = 0; i < ids.length; i++) {
+                assertTrue(Bits.get(combinations.mask(), ids[i]));
+                assertTrue(listened[ids[i]]);
+                if (i > 0) assertTrue(ids[i - 1] < ids[i]);
+            }
+            if (oneSwap && !first) assertEquals(2, changes[0]);
+            changes[0] = 0;
+            first = false;
+
+            Integer[] boxed = Arrays.stream(ids).boxed().toArray(Integer[]::new);
+            assertTrue(seen.add(Arrays.asList(boxed)));
+        }
+        assertEquals(binomial(n, size), seen.size());
+    }
+
+    private static int count(Combinations combinations) {
+        int count = 0;
+        while (combinations.advance()) count++;
+        return count;
+    }
+
+    private static long binomial(int n, int k) {
+        if (k > n) return 0;
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+}